@@ -0,0 +1,48 @@
+package com.bgauction.gameservice.controller;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.util.BenchmarkData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class GameDtoSerializationBenchmark {
+
+    @Param({"1", "50", "200"})
+    public int gameCount;
+
+    @Param({"reflection", "blackbird"})
+    public String access;
+
+    private ObjectMapper objectMapper;
+    private List<GameDto> games;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder().addModule(new JavaTimeModule());
+        if (access.equals("blackbird")) {
+            builder.addModule(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        games = new ArrayList<>(gameCount);
+        for (int i = 0; i < gameCount; i++) {
+            games.add(BenchmarkData.gameDto(i + 1L, 3));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeGameList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(games);
+    }
+}
@@ -0,0 +1,37 @@
+package com.bgauction.gameservice.model.mapper;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.util.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class GameMapperBenchmark {
+
+    @Param({"0", "5", "20"})
+    public int imageCount;
+
+    private final GameMapper gameMapper = new GameMapperImpl();
+    private Game game;
+    private GameDto gameDto;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkData.game(1L, imageCount);
+        gameDto = BenchmarkData.gameDto(1L, imageCount);
+    }
+
+    @Benchmark
+    public GameDto gameToGameDto() {
+        return gameMapper.gameToGameDto(game);
+    }
+
+    @Benchmark
+    public Game gameDtoToGame() {
+        return gameMapper.gameDtoToGame(gameDto);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bgauction.gameservice.repository;
+
+import com.bgauction.gameservice.GameserviceApplication;
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.model.mapper.GameRowMapper;
+import com.bgauction.gameservice.model.projection.GameRow;
+import com.bgauction.gameservice.util.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity + MapStruct reads against projection reads on a seeded H2 database, for one game by id and for a page of
+ * a seller's games. Run with the gc profiler from the jmh block to compare allocation per read as well as latency.
+ */
+@State(Scope.Benchmark)
+public class GameReadPathBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int GAMES = 50;
+    private static final int IMAGES_PER_GAME = 5;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private GameRepository gameRepository;
+    private GameMapper gameMapper;
+    private TransactionTemplate readOnly;
+    private List<Long> pageIds;
+    private Long gameId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(GameserviceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:read_path_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+                .run();
+        gameRepository = context.getBean(GameRepository.class);
+        gameMapper = context.getBean(GameMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Game> games = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            Game game = BenchmarkData.game(i + 1L, 0);
+            game.setId(null);
+            game.setVersion(null);
+            game.setImages(BenchmarkData.images(IMAGES_PER_GAME, i * IMAGES_PER_GAME, false));
+            game.getImages().forEach(image -> image.setGame(game));
+            games.add(game);
+        }
+        gameRepository.saveAll(games);
+        pageIds = readOnly.execute(status -> gameRepository.findFirstPageByUserId(USER_ID, Limit.of(pageSize))
+                .stream().map(GameRow::id).toList());
+        gameId = pageIds.get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public GameDto gameByIdViaEntity() {
+        return readOnly.execute(status -> gameMapper.gameToGameDto(gameRepository.findWithImagesById(gameId).orElseThrow()));
+    }
+
+    @Benchmark
+    public GameDto gameByIdViaProjection() {
+        return readOnly.execute(status ->
+                gameMapper.gameToGameDto(GameRowMapper.toGame(gameRepository.findDetailRowsById(gameId)).orElseThrow()));
+    }
+
+    @Benchmark
+    public List<GameDto> userPageViaEntity() {
+        return readOnly.execute(status -> gameRepository.findAllWithImagesByIdIn(pageIds).stream()
+                .map(gameMapper::gameToGameDto).toList());
+    }
+
+    @Benchmark
+    public List<GameDto> userPageViaProjection() {
+        return readOnly.execute(status -> {
+            List<GameRow> rows = gameRepository.findFirstPageByUserId(USER_ID, Limit.of(pageSize));
+            return GameRowMapper.toDtos(rows, gameRepository.findImageRowsByGameIdIn(rows.stream().map(GameRow::id).toList()));
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.bgauction.gameservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+@State(Scope.Benchmark)
+public class ServiceKeyFilterBenchmark {
+
+    private static final String SERVICE_KEY = "benchmark-service-key";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private final ServiceKeyFilter filter = new ServiceKeyFilter(SERVICE_KEY);
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validRequest = new MockHttpServletRequest("GET", "/game/1");
+        validRequest.addHeader("X-Service-Key", SERVICE_KEY);
+        invalidRequest = new MockHttpServletRequest("GET", "/game/1");
+        invalidRequest.addHeader("X-Service-Key", "wrong-key");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validKey() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(validRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidKey() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilterInternal(invalidRequest, response, NO_OP_CHAIN);
+        return response;
+    }
+}
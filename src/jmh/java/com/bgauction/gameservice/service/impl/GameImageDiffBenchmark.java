@@ -0,0 +1,64 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.util.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Half of the submitted images are already stored, half are new. The diff mutates the stored list,
+ * so every invocation works on fresh copies; {@link #copyOnly()} measures that overhead.
+ */
+@State(Scope.Benchmark)
+public class GameImageDiffBenchmark {
+
+    @Param({"1", "12", "24", "48", "200"})
+    public int imageCount;
+
+    private List<GameImage> storedImages;
+    private List<GameImage> submittedImages;
+
+    @Setup
+    public void setUp() {
+        storedImages = BenchmarkData.images(imageCount, 1, true);
+        submittedImages = BenchmarkData.images(imageCount, imageCount / 2 + 1, false);
+    }
+
+    @Benchmark
+    public List<GameImage> diff() {
+        Game existingGame = gameWith(storedImages);
+        Game newGame = gameWith(submittedImages);
+        GameImageDiff.apply(existingGame, newGame.getImages());
+        return existingGame.getImages();
+    }
+
+    @Benchmark
+    public List<GameImage> diffUnchanged() {
+        Game existingGame = gameWith(storedImages);
+        GameImageDiff.apply(existingGame, gameWith(storedImages).getImages());
+        return existingGame.getImages();
+    }
+
+    @Benchmark
+    public List<GameImage> copyOnly() {
+        gameWith(storedImages);
+        return gameWith(submittedImages).getImages();
+    }
+
+    private static Game gameWith(List<GameImage> images) {
+        List<GameImage> copies = new ArrayList<>(images.size());
+        for (GameImage image : images) {
+            copies.add(new GameImage(image.getId(), image.getUrl(), null));
+        }
+        Game game = new Game();
+        game.setImages(copies);
+        return game;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bgauction.gameservice.util;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameImageDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static String imageUrl(int index) {
+        return "https://boardgamegeek.com/image/" + (50000000 + index);
+    }
+
+    public static List<GameImage> images(int count, int firstIndex, boolean withIds) {
+        List<GameImage> images = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            images.add(new GameImage(withIds ? (long) firstIndex + i : null, imageUrl(firstIndex + i), null));
+        }
+        return images;
+    }
+
+    public static Game game(long id, int imageCount) {
+        Game game = Game.builder()
+                .id(id)
+                .userId(1L)
+                .title("Game title " + id)
+                .description("Game description for benchmark game " + id)
+                .condition("New")
+                .language(GameLanguage.EN)
+                .minPlayers(2)
+                .maxPlayers(5)
+                .status(GameStatus.PUBLISHED)
+                .created(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .version(1L)
+                .build();
+        game.setImages(images(imageCount, 1, true));
+        return game;
+    }
+
+    public static GameDto gameDto(long id, int imageCount) {
+        List<GameImageDto> images = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            images.add(new GameImageDto((long) i + 1, imageUrl(i + 1)));
+        }
+        return GameDto.builder()
+                .id(id)
+                .userId(1L)
+                .title("Game title " + id)
+                .description("Game description for benchmark game " + id)
+                .condition("New")
+                .language(GameLanguage.EN)
+                .minPlayers(2)
+                .maxPlayers(5)
+                .status(GameStatus.PUBLISHED)
+                .version(1L)
+                .images(images)
+                .build();
+    }
+}
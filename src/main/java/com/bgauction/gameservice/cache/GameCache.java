@@ -0,0 +1,260 @@
+package com.bgauction.gameservice.cache;
+
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache in front of game lookups by id.
+ * Entries are private snapshots: every hit returns a fresh copy, so callers can't mutate cached state.
+ * Next to each snapshot the encoded JSON of the same version can be kept, so hot reads skip mapping and Jackson.
+ * Ids that were looked up and not found are remembered for a short time, so repeated misses skip the database.
+ * Loaders must read the primary (no read-only transaction), or replica lag would be cached for every reader.
+ * Writes through this instance invalidate directly; writes on other instances through {@link GameCacheEvictionListener}.
+ */
+@Component
+public class GameCache implements MeterBinder {
+
+    private final Cache<Long, Game> cache;
+    private final Cache<Long, GameJson> jsonCache;
+    private final Cache<Long, Boolean> missing;
+    private final ConcurrentMap<Long, CompletableFuture<Game>> loads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CompletableFuture<GameJson>> jsonLoads = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final Duration loadTimeout;
+
+    private static final String LOAD_TIMED_OUT = "Load of game with id: %d did not finish within %d ms";
+    private static final String LOAD_INTERRUPTED = "Interrupted while waiting for load of game with id: %d";
+
+    public GameCache(@Value("${game.cache.max-size:10000}") long maxSize,
+                     @Value("${game.cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${game.cache.load-timeout-ms:2000}") long loadTimeoutMs,
+                     @Value("${game.cache.missing.max-size:100000}") long missingMaxSize,
+                     @Value("${game.cache.missing.ttl-seconds:30}") long missingTtlSeconds) {
+        this.loadTimeout = Duration.ofMillis(loadTimeoutMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.jsonCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(missingMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(missingTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Game> get(Long id, Function<Long, Optional<Game>> loader) {
+        Game snapshot = cache.getIfPresent(id);
+        if (snapshot == null) {
+            if (isMissing(id)) {
+                return Optional.empty();
+            }
+            snapshot = load(id, loader);
+        }
+        return Optional.ofNullable(snapshot).map(GameCache::copyOf);
+    }
+
+    // The encoder gets the cached snapshot itself and must only read it.
+    public Optional<GameJson> getJson(Long id, Function<Long, Optional<Game>> loader, Function<Game, GameJson> encoder) {
+        GameJson json = jsonCache.getIfPresent(id);
+        if (json != null) {
+            return Optional.of(json);
+        }
+        if (isMissing(id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(singleFlight(jsonLoads, id, created -> {
+            Game snapshot = cache.getIfPresent(id);
+            if (snapshot == null) {
+                snapshot = load(id, loader);
+            }
+            if (snapshot == null) {
+                return null;
+            }
+            GameJson encoded = encoder.apply(snapshot);
+            // invalidate drops the snapshot before the JSON, so JSON of a version that is no longer cached is never stored
+            jsonCache.asMap().compute(id, (key, current) -> {
+                Game latest = cache.getIfPresent(key);
+                return latest != null && Objects.equals(latest.getVersion(), encoded.version()) ? encoded : current;
+            });
+            return encoded;
+        }));
+    }
+
+    private Game load(Long id, Function<Long, Optional<Game>> loader) {
+        return singleFlight(loads, id, created -> {
+            Game snapshot = loader.apply(id).map(GameCache::copyOf).orElse(null);
+            // skipped when the id was invalidated while loading, so a stale row or miss is never cached
+            loads.computeIfPresent(id, (key, load) -> {
+                if (load == created) {
+                    if (snapshot != null) {
+                        cache.put(key, snapshot);
+                    } else {
+                        missing.put(key, Boolean.TRUE);
+                    }
+                }
+                return load;
+            });
+            return snapshot;
+        });
+    }
+
+    // The first miss for an id runs the work outside of any cache lock: a JDBC call inside a monitor would pin
+    // a virtual thread to its carrier. Concurrent misses for the same id wait for its result, or its failure,
+    // for at most game.cache.load-timeout-ms instead of starting their own.
+    private <T> T singleFlight(ConcurrentMap<Long, CompletableFuture<T>> inFlight,
+                               Long id,
+                               Function<CompletableFuture<T>, T> work) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> running = inFlight.putIfAbsent(id, created);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(running, id);
+        }
+        try {
+            T result = work.apply(created);
+            created.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, created);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> running, Long id) {
+        try {
+            return running.get(loadTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException(String.format(LOAD_TIMED_OUT, id, loadTimeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException(String.format(LOAD_INTERRUPTED, id));
+        }
+    }
+
+    private boolean isMissing(Long id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    // Inside a transaction the entries are dropped again after commit: a read between the write and the commit
+    // still sees the old row, or no row for a new id, and would otherwise keep it cached until it expires.
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private void evict(Long id) {
+        loads.remove(id);
+        jsonLoads.remove(id);
+        cache.invalidate(id);
+        jsonCache.invalidate(id);
+        missing.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        loads.clear();
+        jsonLoads.clear();
+        cache.invalidateAll();
+        jsonCache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public long missingSize() {
+        return missing.estimatedSize();
+    }
+
+    public CacheStats missingStats() {
+        return missing.stats();
+    }
+
+    public long coalescedCount() {
+        return coalesced.get();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "games");
+        CaffeineCacheMetrics.monitor(registry, jsonCache, "games_json");
+        CaffeineCacheMetrics.monitor(registry, missing, "games_missing");
+        FunctionCounter.builder("game.cache.coalesced", coalesced, AtomicLong::get)
+                .description("Cache misses that waited for a load already in flight instead of starting their own")
+                .register(registry);
+    }
+
+    static Game copyOf(Game game) {
+        Game copy = Game.builder()
+                .id(game.getId())
+                .userId(game.getUserId())
+                .title(game.getTitle())
+                .description(game.getDescription())
+                .condition(game.getCondition())
+                .language(game.getLanguage())
+                .minPlayers(game.getMinPlayers())
+                .maxPlayers(game.getMaxPlayers())
+                .status(game.getStatus())
+                .created(game.getCreated())
+                .version(game.getVersion())
+                .build();
+        List<GameImage> images = new ArrayList<>(game.getImages().size());
+        game.getImages().forEach(i -> images.add(new GameImage(i.getId(), i.getUrl(), null)));
+        copy.setImages(images);
+        return copy;
+    }
+}
@@ -0,0 +1,72 @@
+package com.bgauction.gameservice.cache;
+
+import com.bgauction.gameservice.model.dto.GameEventDto;
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.service.GameEventService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Follows the change feed and evicts every game it names from the local {@link GameCache} and from this instance's
+ * second-level cache regions, so a write on another instance is seen here within about game.cache.eviction.poll-ms
+ * instead of after the cache TTL.
+ * Starts at the end of the feed: entries cached before startup don't exist yet.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "game.cache.eviction.enabled", havingValue = "true", matchIfMissing = true)
+public class GameCacheEvictionListener {
+
+    private static final String IMAGES_ROLE = Game.class.getName() + ".images";
+
+    private final GameEventService gameEventService;
+    private final GameCache gameCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int batchSize;
+    private Long offset;
+
+    public GameCacheEvictionListener(GameEventService gameEventService,
+                                     GameCache gameCache,
+                                     EntityManagerFactory entityManagerFactory,
+                                     @Value("${game.cache.eviction.batch-size:500}") int batchSize) {
+        this.gameEventService = gameEventService;
+        this.gameCache = gameCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${game.cache.eviction.poll-ms:1000}")
+    public void poll() {
+        try {
+            if (offset == null) {
+                offset = gameEventService.latestOffset();
+                return;
+            }
+            GameEventPageDto page;
+            do {
+                page = gameEventService.readEvents(offset, batchSize, Duration.ZERO);
+                page.getEvents().stream().map(GameEventDto::getGameId).distinct().forEach(this::evict);
+                offset = page.getNextOffset();
+            } while (page.getEvents().size() == batchSize);
+        } catch (RuntimeException e) {
+            // the next poll resumes from the same offset; the TTL bounds staleness meanwhile
+            log.warn("Could not read the change feed for cache eviction", e);
+        }
+    }
+
+    private void evict(Long gameId) {
+        gameCache.invalidate(gameId);
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Game.class, gameId);
+        cache.evictCollectionData(IMAGES_ROLE, gameId);
+    }
+}
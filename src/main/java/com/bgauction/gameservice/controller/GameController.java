@@ -1,11 +1,27 @@
 package com.bgauction.gameservice.controller;
 
+import com.bgauction.gameservice.model.dto.GameBatchDto;
+import com.bgauction.gameservice.model.dto.GameBrowseDto;
+import com.bgauction.gameservice.model.dto.GameBrowsePage;
 import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameExportFormat;
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.dto.GamePage;
+import com.bgauction.gameservice.model.dto.GameStatusChangeDto;
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
 import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameExportService;
+import com.bgauction.gameservice.service.GameImportService;
 import com.bgauction.gameservice.service.GameService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +31,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,33 +51,170 @@ public class GameController {
 
     private final GameService gameService;
     private final GameMapper gameMapper;
+    private final GameImportService gameImportService;
+    private final GameExportService gameExportService;
+    private final GameEventService gameEventService;
+
+    @Value("${game.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${game.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${game.page.unpaged-full-list:false}")
+    private boolean unpagedFullList;
+
+    @Value("${game.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${game.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${game.events.max-batch-size:500}")
+    private int maxEventBatchSize;
+
+    @Value("${game.events.max-wait-seconds:25}")
+    private int maxEventWaitSeconds;
 
     private static final String GAME_ID_GREATER_THEN_0 = "Game id: %d must be greater then 0";
     private static final String GAME_ID_MUST_BE_NULL = "Game id: %d must be null or 0";
     private static final String GAME_ID_MUST_EQUAL_TO_PATH_VARIABLE = "Game id: %d must be equal to path variable: %d";
     private static final String USER_ID_GREATER_THEN_0 = "User id: %d must be greater then 0";
     private static final String IMAGE_ID_MUST_BE_NULL = "Image ids for new game must be null or 0";
+    private static final String PAGE_SIZE_GREATER_THEN_0 = "Page size: %d must be greater then 0";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEARCH_QUERY_MUST_NOT_BE_BLANK = "Search query must not be blank";
+    private static final String LIMIT_GREATER_THEN_0 = "Limit: %d must be greater then 0";
+    private static final String PLAYERS_GREATER_THEN_0 = "Players: %d must be greater then 0";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final String INVALID_IF_MATCH = "If-Match: %s must be a single strong ETag or *";
+    private static final String BATCH_MUST_NOT_BE_EMPTY = "Game id list must not be empty";
+    private static final String BATCH_TOO_LARGE = "Game id list size: %d must not exceed %d";
+    private static final String GAME_IDS_GREATER_THEN_0 = "All game ids must be greater then 0";
+    private static final String OFFSET_NOT_LESS_THEN_0 = "Offset: %d must not be less then 0";
+    private static final String WAIT_NOT_LESS_THEN_0 = "Wait: %d must not be less then 0";
 
     @GetMapping({"/game/{id}", "/internal/game/{id}"})
-    public ResponseEntity<Object> getGameById(@PathVariable Long id) {
+    public ResponseEntity<Object> getGameById(@PathVariable Long id,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                              String acceptEncoding) {
         if (id < 1) {
             return new ResponseEntity<>(String.format(GAME_ID_GREATER_THEN_0, id), HttpStatus.BAD_REQUEST);
         }
-        GameDto gameDto = gameMapper.gameToGameDto(gameService.findGameById(id));
-        return new ResponseEntity<>(gameDto, HttpStatus.OK);
+        GameJson gameJson = gameService.findGameJsonById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // the two encodings are different bytes, so each gets its own strong ETag
+        boolean gzip = gameJson.gzip() != null && acceptsGzip(acceptEncoding);
+        if (gameJson.version() != null) {
+            response.eTag(toETag(gameJson.version(), gzip));
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gameJson.gzip());
+        }
+        return response.body(gameJson.json());
+    }
+
+    @GetMapping("/game/search")
+    public ResponseEntity<Object> searchGames(@RequestParam String q,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            return new ResponseEntity<>(SEARCH_QUERY_MUST_NOT_BE_BLANK, HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1) {
+            return new ResponseEntity<>(String.format(LIMIT_GREATER_THEN_0, limit), HttpStatus.BAD_REQUEST);
+        }
+        List<GameDto> games = gameService.searchGames(q, Math.min(limit, maxSearchResults)).stream()
+                .map(gameMapper::gameToGameDto)
+                .toList();
+        return ResponseEntity.ok(games);
+    }
+
+    @GetMapping("/game/search/autocomplete")
+    public ResponseEntity<Object> autocompleteTitles(@RequestParam String prefix,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return new ResponseEntity<>(SEARCH_QUERY_MUST_NOT_BE_BLANK, HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1) {
+            return new ResponseEntity<>(String.format(LIMIT_GREATER_THEN_0, limit), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(gameService.autocompleteTitles(prefix, Math.min(limit, maxSearchResults)));
+    }
+
+    @GetMapping("/game/browse")
+    public ResponseEntity<Object> browseGames(@RequestParam(required = false) Set<GameLanguage> language,
+                                              @RequestParam(required = false) Integer players,
+                                              @RequestParam(required = false) Set<GameStatus> status,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
+        if (players != null && players < 1) {
+            return new ResponseEntity<>(String.format(PLAYERS_GREATER_THEN_0, players), HttpStatus.BAD_REQUEST);
+        }
+        if (size != null && size < 1) {
+            return new ResponseEntity<>(String.format(PAGE_SIZE_GREATER_THEN_0, size), HttpStatus.BAD_REQUEST);
+        }
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        GameBrowsePage page = gameService.browseGames(
+                language == null ? Set.of() : language, players, status == null ? Set.of() : status, cursor, pageSize);
+        List<GameDto> games = page.games().stream().map(gameMapper::gameToGameDto).toList();
+        return ResponseEntity.ok(new GameBrowseDto(
+                games, page.total(), page.languageCounts(), page.statusCounts(), page.nextCursor()));
     }
 
     @GetMapping("/game/user/{userId}")
     public ResponseEntity<Object> getGamesByUserId(@PathVariable Long userId,
-                                              @RequestHeader(value = "X-User-Id") Long id) {
+                                              @RequestHeader(value = "X-User-Id") Long id,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
         if (userId < 1) {
             return new ResponseEntity<>(String.format(USER_ID_GREATER_THEN_0, userId), HttpStatus.BAD_REQUEST);
         }
         if (!id.equals(userId)) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
-        List<GameDto> games = gameService.findGameListByUserId(userId).stream().map(gameMapper::gameToGameDto).toList();
-        return ResponseEntity.ok(games);
+        if (size != null && size < 1) {
+            return new ResponseEntity<>(String.format(PAGE_SIZE_GREATER_THEN_0, size), HttpStatus.BAD_REQUEST);
+        }
+        // only while game.page.unpaged-full-list is on for clients written before paging
+        if (unpagedFullList && size == null && cursor == null) {
+            return ResponseEntity.ok(gameService.findGameListByUserId(userId));
+        }
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        GamePage page = gameService.findGamePageByUserId(userId, cursor, pageSize);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.games());
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.nextCursor()).body(page.games());
+    }
+
+    @PostMapping("/internal/game/batch")
+    public ResponseEntity<Object> getGamesByIds(@RequestBody List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ResponseEntity<>(BATCH_MUST_NOT_BE_EMPTY, HttpStatus.BAD_REQUEST);
+        }
+        if (ids.size() > maxBatchSize) {
+            return new ResponseEntity<>(String.format(BATCH_TOO_LARGE, ids.size(), maxBatchSize), HttpStatus.BAD_REQUEST);
+        }
+        if (ids.stream().anyMatch(gameId -> gameId == null || gameId < 1)) {
+            return new ResponseEntity<>(GAME_IDS_GREATER_THEN_0, HttpStatus.BAD_REQUEST);
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, GameDto> found = gameService.findGamesByIds(requestedIds).stream()
+                .map(gameMapper::gameToGameDto)
+                .collect(Collectors.toMap(GameDto::getId, Function.identity()));
+        List<GameDto> games = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long gameId : requestedIds) {
+            GameDto game = found.get(gameId);
+            if (game == null) {
+                missingIds.add(gameId);
+            } else {
+                games.add(game);
+            }
+        }
+        return ResponseEntity.ok(new GameBatchDto(games, missingIds));
     }
 
     @PostMapping("/game")
@@ -74,11 +237,43 @@ public class GameController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedGame);
     }
 
+    @PostMapping(value = "/internal/game/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importGames(InputStream body) throws IOException {
+        return ResponseEntity.ok(gameImportService.importGames(body));
+    }
+
+    @GetMapping("/internal/game/export")
+    public void exportGames(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        GameExportFormat exportFormat = GameExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        gameExportService.exportGames(exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/internal/game/events")
+    public ResponseEntity<Object> getGameEvents(@RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "100") int limit,
+                                                @RequestParam(defaultValue = "0") int wait) {
+        if (after < 0) {
+            return new ResponseEntity<>(String.format(OFFSET_NOT_LESS_THEN_0, after), HttpStatus.BAD_REQUEST);
+        }
+        if (limit < 1) {
+            return new ResponseEntity<>(String.format(LIMIT_GREATER_THEN_0, limit), HttpStatus.BAD_REQUEST);
+        }
+        if (wait < 0) {
+            return new ResponseEntity<>(String.format(WAIT_NOT_LESS_THEN_0, wait), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(gameEventService.readEvents(after, Math.min(limit, maxEventBatchSize),
+                Duration.ofSeconds(Math.min(wait, maxEventWaitSeconds))));
+    }
+
     @PutMapping("/game/{id}")
     public ResponseEntity<Object> updateGame(@PathVariable Long id,
                                         @Valid @RequestBody GameDto game,
                                         BindingResult bindingResult,
-                                        @RequestHeader(value = "X-User-Id") Long userId) {
+                                        @RequestHeader(value = "X-User-Id") Long userId,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (bindingResult.hasErrors()) {
             return getValidationErrors(bindingResult);
         }
@@ -91,6 +286,13 @@ public class GameController {
         if (!userId.equals(game.getUserId())) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
+        if (ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*")) {
+            Long expectedVersion = fromETag(ifMatch.trim());
+            if (expectedVersion == null) {
+                return new ResponseEntity<>(String.format(INVALID_IF_MATCH, ifMatch), HttpStatus.PRECONDITION_FAILED);
+            }
+            game.setVersion(expectedVersion);
+        }
         gameService.updateGame(gameMapper.gameDtoToGame(game));
         return ResponseEntity.noContent().build();
     }
@@ -122,12 +324,74 @@ public class GameController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/internal/game/status")
+    public ResponseEntity<Object> changeGameStatuses(@Valid @RequestBody GameStatusChangeDto statusChange,
+                                                     BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return getValidationErrors(bindingResult);
+        }
+        List<Long> ids = statusChange.getIds();
+        if (ids.size() > maxBatchSize) {
+            return new ResponseEntity<>(String.format(BATCH_TOO_LARGE, ids.size(), maxBatchSize), HttpStatus.BAD_REQUEST);
+        }
+        if (ids.stream().anyMatch(gameId -> gameId == null || gameId < 1)) {
+            return new ResponseEntity<>(GAME_IDS_GREATER_THEN_0, HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(gameService.changeGameStatuses(ids, statusChange.getStatus()));
+    }
+
     @DeleteMapping("/internal/game/{id}")
     public ResponseEntity<Object> deleteGame(@PathVariable Long id) {
         gameService.deleteGameById(id);
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping("/internal/game/user/{userId}")
+    public ResponseEntity<Object> deleteGamesByUserId(@PathVariable Long userId) {
+        if (userId < 1) {
+            return new ResponseEntity<>(String.format(USER_ID_GREATER_THEN_0, userId), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(gameService.deleteGamesByUserId(userId));
+    }
+
+    @GetMapping("/internal/game/cache/stats")
+    public ResponseEntity<Object> getGameCacheStats() {
+        return ResponseEntity.ok(gameService.getGameCacheStats());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String toETag(Long version, boolean gzip) {
+        return "\"" + version + (gzip ? GZIP_ETAG_SUFFIX : "") + "\"";
+    }
+
+    // accepts the ETag of either encoding, both name the same version
+    private static Long fromETag(String eTag) {
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            return null;
+        }
+        String value = eTag.substring(1, eTag.length() - 1);
+        if (value.endsWith(GZIP_ETAG_SUFFIX)) {
+            value = value.substring(0, value.length() - GZIP_ETAG_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private ResponseEntity<Object> getValidationErrors(BindingResult bindingResult) {
             List<String> errors = bindingResult.getFieldErrors().stream()
                     .map(error -> error.getField() + ": " + error.getDefaultMessage())
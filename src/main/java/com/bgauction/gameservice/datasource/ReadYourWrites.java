@@ -0,0 +1,51 @@
+package com.bgauction.gameservice.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote within the last window, so their reads stay on the primary until the replica
+ * has caught up with their own changes. The user of the current request is bound by {@link ReadYourWritesFilter}.
+ * The users kept here are only those who wrote through this instance; a write made on another instance is
+ * carried by the pin cookie the filter sets, for clients that send it back.
+ */
+public class ReadYourWrites {
+
+    private record Binding(String userId, boolean pinnedByClient) {
+    }
+
+    private final ThreadLocal<Binding> current = new ThreadLocal<>();
+    private final Cache<String, Boolean> recentWriters;
+    private final Duration window;
+
+    public ReadYourWrites(Duration window, long maxUsers) {
+        this.window = window;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    Duration window() {
+        return window;
+    }
+
+    void bind(String userId, boolean pinnedByClient) {
+        current.set(new Binding(userId, pinnedByClient));
+    }
+
+    void unbind() {
+        current.remove();
+    }
+
+    void recordWrite(String userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isPinnedToPrimary() {
+        Binding binding = current.get();
+        return binding != null && (binding.pinnedByClient() || recentWriters.getIfPresent(binding.userId()) != null);
+    }
+}
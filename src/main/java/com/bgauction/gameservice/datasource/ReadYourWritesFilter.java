@@ -0,0 +1,82 @@
+package com.bgauction.gameservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Pins a user's reads to the primary for the read-your-writes window after each of their writes.
+ * The pin is kept in this instance's {@link ReadYourWrites} and in a cookie holding the end of the window,
+ * so a client that sends the cookie back stays pinned when its next request lands on another instance.
+ * Clients that drop cookies need sticky routing by X-User-Id for the same guarantee.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PIN_COOKIE = "game_primary_until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String userId = request.getHeader("X-User-Id");
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // set before the chain runs, the response may be committed by the time it returns
+            response.addCookie(pinCookie());
+        }
+        readYourWrites.bind(userId, isPinnedByCookie(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // recorded whatever the outcome, a failed request may still have committed part of its work
+            if (write) {
+                readYourWrites.recordWrite(userId);
+            }
+            readYourWrites.unbind();
+        }
+    }
+
+    private Cookie pinCookie() {
+        long windowMs = readYourWrites.window().toMillis();
+        Cookie cookie = new Cookie(PIN_COOKIE, Long.toString(System.currentTimeMillis() + windowMs));
+        cookie.setMaxAge((int) Math.max(1, (windowMs + 999) / 1000));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+
+    // a pin further out than one window was not set by this service and is ignored
+    private boolean isPinnedByCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : request.getCookies()) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    long until = Long.parseLong(cookie.getValue());
+                    return until > now && until <= now + readYourWrites.window().toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
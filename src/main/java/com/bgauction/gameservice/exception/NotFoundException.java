@@ -1,7 +1,11 @@
 package com.bgauction.gameservice.exception;
 
+/**
+ * Not-found is an expected outcome of client input, answered with 404 and never logged,
+ * so the exception skips capturing a stack trace.
+ */
 public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
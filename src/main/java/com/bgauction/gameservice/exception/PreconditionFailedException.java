@@ -0,0 +1,7 @@
+package com.bgauction.gameservice.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bgauction.gameservice.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables @Timed on Spring beans. HTTP, Hibernate, connection pool and JVM metrics come from actuator auto-configuration;
+ * histogram buckets for every timer are set with management.metrics.distribution.* properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bgauction.gameservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameBatchDto {
+
+    private List<GameDto> games = new ArrayList<>();
+
+    private List<Long> missingIds = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.bgauction.gameservice.model.dto;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameBrowseDto {
+
+    private List<GameDto> games;
+
+    private int total;
+
+    private Map<GameLanguage, Integer> languageCounts;
+
+    private Map<GameStatus, Integer> statusCounts;
+
+    private String nextCursor;
+}
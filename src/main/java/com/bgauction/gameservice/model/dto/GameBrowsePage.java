@@ -0,0 +1,15 @@
+package com.bgauction.gameservice.model.dto;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record GameBrowsePage(List<Game> games,
+                             int total,
+                             Map<GameLanguage, Integer> languageCounts,
+                             Map<GameStatus, Integer> statusCounts,
+                             String nextCursor) {
+}
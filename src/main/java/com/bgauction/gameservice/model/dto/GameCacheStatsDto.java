@@ -0,0 +1,17 @@
+package com.bgauction.gameservice.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GameCacheStatsDto {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+    private long missingSize;
+    private long missingHitCount;
+}
@@ -56,4 +56,6 @@ public class GameDto {
     @Builder.Default
     private List<GameImageDto> images = new ArrayList<>();
 
+    private Long version;
+
 }
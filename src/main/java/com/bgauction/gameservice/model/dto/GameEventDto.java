@@ -0,0 +1,25 @@
+package com.bgauction.gameservice.model.dto;
+
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameEventDto {
+
+    private Long offset;
+
+    private Long gameId;
+
+    private GameEventType type;
+
+    private GameStatus status;
+
+    private LocalDateTime created;
+}
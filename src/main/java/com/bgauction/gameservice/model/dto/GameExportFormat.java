@@ -0,0 +1,30 @@
+package com.bgauction.gameservice.model.dto;
+
+import com.bgauction.gameservice.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum GameExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private static final String UNSUPPORTED_FORMAT = "Unsupported export format: %s, expected ndjson or csv";
+
+    private final String contentType;
+
+    GameExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static GameExportFormat fromParameter(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format(UNSUPPORTED_FORMAT, format));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bgauction.gameservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameImportErrorDto {
+
+    private long line;
+
+    private List<String> errors;
+}
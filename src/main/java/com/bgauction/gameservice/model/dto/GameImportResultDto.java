@@ -0,0 +1,20 @@
+package com.bgauction.gameservice.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameImportResultDto {
+
+    private long imported;
+
+    private long failed;
+
+    private List<GameImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,8 @@
+package com.bgauction.gameservice.model.dto;
+
+/**
+ * A game already encoded as GameDto JSON, with an optional gzip copy of the same bytes.
+ * The arrays are shared by every reader and must not be modified.
+ */
+public record GameJson(Long version, byte[] json, byte[] gzip) {
+}
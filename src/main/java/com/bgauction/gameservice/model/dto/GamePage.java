@@ -0,0 +1,6 @@
+package com.bgauction.gameservice.model.dto;
+
+import java.util.List;
+
+public record GamePage(List<GameDto> games, String nextCursor) {
+}
@@ -0,0 +1,22 @@
+package com.bgauction.gameservice.model.dto;
+
+import com.bgauction.gameservice.model.entity.GameStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GameStatusChangeDto {
+
+    @NotEmpty
+    private List<Long> ids;
+
+    @NotNull
+    private GameStatus status;
+}
@@ -0,0 +1,8 @@
+package com.bgauction.gameservice.model.dto;
+
+public enum GameStatusChangeResult {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    ILLEGAL_TRANSITION
+}
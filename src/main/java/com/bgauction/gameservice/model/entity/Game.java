@@ -1,5 +1,6 @@
 package com.bgauction.gameservice.model.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,8 +10,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -22,6 +28,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.apache.commons.lang3.builder.ToStringExclude;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -36,11 +44,24 @@ import java.util.Objects;
 @Builder
 @ToString
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_user_created", columnList = "user_id, created"),
+        @Index(name = "idx_games_status_created", columnList = "status, created"),
+        @Index(name = "idx_games_deleted", columnList = "deleted")
+})
+@NamedEntityGraph(name = Game.WITH_IMAGES, attributeNodes = @NamedAttributeNode("images"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Game.CACHE_REGION)
 public class Game {
 
+    public static final String WITH_IMAGES = "Game.withImages";
+    public static final String CACHE_REGION = "games";
+    public static final String IMAGES_CACHE_REGION = "games.images";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "game_id")
+    @TableGenerator(name = "game_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "games", initialValue = 1000, allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -90,7 +111,17 @@ public class Game {
     @Column(name = "created", updatable = false)
     private LocalDateTime created;
 
-    @OneToMany(mappedBy = "game", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // set by GameRepository.softDeleteById, the row and its images are removed later by GamePurgeService
+    @Builder.Default
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted = false;
+
+    @OneToMany(mappedBy = "game", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Game.IMAGES_CACHE_REGION)
     @Builder.Default
     @ToStringExclude
     private List<GameImage> images = new ArrayList<>();
@@ -114,11 +145,12 @@ public class Game {
                 && Objects.equals(minPlayers, game.minPlayers)
                 && Objects.equals(maxPlayers, game.maxPlayers)
                 && status == game.status
-                && Objects.equals(created, game.created);
+                && Objects.equals(created, game.created)
+                && Objects.equals(version, game.version);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, userId, title, description, condition, language, minPlayers, maxPlayers, status, created);
+        return Objects.hash(id, userId, title, description, condition, language, minPlayers, maxPlayers, status, created, version);
     }
 }
@@ -0,0 +1,52 @@
+package com.bgauction.gameservice.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as the change it describes.
+ * Ids are change feed positions, assigned in commit order by {@link com.bgauction.gameservice.repository.GameEventRepository#insertEvents}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Entity
+@Table(name = "game_events", indexes = @Index(name = "idx_game_events_created", columnList = "created"))
+public class GameEvent {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "game_id", nullable = false, updatable = false)
+    private Long gameId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, updatable = false)
+    private GameEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", updatable = false)
+    private GameStatus status;
+
+    @CreationTimestamp
+    @Column(name = "created", updatable = false)
+    private LocalDateTime created;
+}
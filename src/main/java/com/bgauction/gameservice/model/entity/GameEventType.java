@@ -0,0 +1,8 @@
+package com.bgauction.gameservice.model.entity;
+
+public enum GameEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -1,13 +1,17 @@
 package com.bgauction.gameservice.model.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +20,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.apache.commons.lang3.builder.ToStringExclude;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.URL;
 
 import java.util.Objects;
@@ -27,11 +33,17 @@ import java.util.Objects;
 @Builder
 @ToString
 @Entity
-@Table(name = "game_images")
+@Table(name = "game_images", indexes = @Index(name = "idx_game_images_game_id", columnList = "game_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = GameImage.CACHE_REGION)
 public class GameImage {
 
+    public static final String CACHE_REGION = "game_images";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "game_image_id")
+    @TableGenerator(name = "game_image_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "game_images", initialValue = 1000, allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -40,7 +52,7 @@ public class GameImage {
     @Column(name = "url")
     private String url;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @ToStringExclude
     @JoinColumn(name = "game_id")
     private Game game;
@@ -1,7 +1,26 @@
 package com.bgauction.gameservice.model.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum GameStatus {
     PUBLISHED,
     IN_AUCTION,
-    SOLD
+    SOLD;
+
+    private static final Map<GameStatus, Set<GameStatus>> PREDECESSORS = new EnumMap<>(GameStatus.class);
+
+    static {
+        PREDECESSORS.put(PUBLISHED, Collections.unmodifiableSet(EnumSet.of(IN_AUCTION)));
+        PREDECESSORS.put(IN_AUCTION, Collections.unmodifiableSet(EnumSet.of(PUBLISHED)));
+        PREDECESSORS.put(SOLD, Collections.unmodifiableSet(EnumSet.of(PUBLISHED, IN_AUCTION)));
+    }
+
+    // A game already in the target status is not a transition: callers treat it as a no-op.
+    public Set<GameStatus> allowedPredecessors() {
+        return PREDECESSORS.get(this);
+    }
 }
@@ -0,0 +1,48 @@
+package com.bgauction.gameservice.model.mapper;
+
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.entity.Game;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class GameJsonEncoder {
+
+    private final GameMapper gameMapper;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    public GameJsonEncoder(GameMapper gameMapper,
+                           ObjectMapper objectMapper,
+                           @Value("${game.cache.json.gzip:true}") boolean gzip) {
+        this.gameMapper = gameMapper;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+    }
+
+    public GameJson encode(Game game) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(gameMapper.gameToGameDto(game));
+            return new GameJson(game.getVersion(), json, gzip ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Game with id: " + game.getId() + " can't be encoded", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bgauction.gameservice.model.mapper;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameImageDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.projection.GameDetailRow;
+import com.bgauction.gameservice.model.projection.GameImageRow;
+import com.bgauction.gameservice.model.projection.GameRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Assembles read models straight from constructor-expression rows, without going through managed entities.
+ */
+public final class GameRowMapper {
+
+    private GameRowMapper() {
+    }
+
+    public static List<GameDto> toDtos(List<GameRow> rows, List<GameImageRow> imageRows) {
+        Map<Long, List<GameImageDto>> images = new HashMap<>(rows.size() * 2);
+        for (GameImageRow image : imageRows) {
+            images.computeIfAbsent(image.gameId(), id -> new ArrayList<>()).add(new GameImageDto(image.id(), image.url()));
+        }
+        List<GameDto> games = new ArrayList<>(rows.size());
+        for (GameRow row : rows) {
+            games.add(GameDto.builder()
+                    .id(row.id())
+                    .userId(row.userId())
+                    .title(row.title())
+                    .description(row.description())
+                    .condition(row.condition())
+                    .language(row.language())
+                    .minPlayers(row.minPlayers())
+                    .maxPlayers(row.maxPlayers())
+                    .status(row.status())
+                    .version(row.version())
+                    .images(images.getOrDefault(row.id(), new ArrayList<>()))
+                    .build());
+        }
+        return games;
+    }
+
+    public static Optional<Game> toGame(List<GameDetailRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        GameDetailRow row = rows.get(0);
+        List<GameImage> images = new ArrayList<>(rows.size());
+        for (GameDetailRow imageRow : rows) {
+            if (imageRow.imageId() != null) {
+                images.add(GameImage.builder().id(imageRow.imageId()).url(imageRow.imageUrl()).build());
+            }
+        }
+        Game game = Game.builder()
+                .id(row.id())
+                .userId(row.userId())
+                .title(row.title())
+                .description(row.description())
+                .condition(row.condition())
+                .language(row.language())
+                .minPlayers(row.minPlayers())
+                .maxPlayers(row.maxPlayers())
+                .status(row.status())
+                .created(row.created())
+                .version(row.version())
+                .build();
+        game.setImages(images);
+        return Optional.of(game);
+    }
+}
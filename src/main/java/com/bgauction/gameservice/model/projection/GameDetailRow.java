@@ -0,0 +1,24 @@
+package com.bgauction.gameservice.model.projection;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a game left-joined with its images; imageId and imageUrl are null for a game without images.
+ */
+public record GameDetailRow(Long id,
+                            Long userId,
+                            String title,
+                            String description,
+                            String condition,
+                            GameLanguage language,
+                            Integer minPlayers,
+                            Integer maxPlayers,
+                            GameStatus status,
+                            LocalDateTime created,
+                            Long version,
+                            Long imageId,
+                            String imageUrl) {
+}
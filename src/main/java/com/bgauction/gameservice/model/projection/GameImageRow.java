@@ -0,0 +1,4 @@
+package com.bgauction.gameservice.model.projection;
+
+public record GameImageRow(Long gameId, Long id, String url) {
+}
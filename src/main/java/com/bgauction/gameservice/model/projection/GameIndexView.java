@@ -0,0 +1,14 @@
+package com.bgauction.gameservice.model.projection;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+public interface GameIndexView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    GameLanguage getLanguage();
+    GameStatus getStatus();
+    Integer getMinPlayers();
+    Integer getMaxPlayers();
+}
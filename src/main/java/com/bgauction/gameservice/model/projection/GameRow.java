@@ -0,0 +1,19 @@
+package com.bgauction.gameservice.model.projection;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+import java.time.LocalDateTime;
+
+public record GameRow(Long id,
+                      Long userId,
+                      String title,
+                      String description,
+                      String condition,
+                      GameLanguage language,
+                      Integer minPlayers,
+                      Integer maxPlayers,
+                      GameStatus status,
+                      LocalDateTime created,
+                      Long version) {
+}
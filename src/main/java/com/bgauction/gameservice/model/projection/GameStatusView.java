@@ -0,0 +1,8 @@
+package com.bgauction.gameservice.model.projection;
+
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+public interface GameStatusView {
+    Long getId();
+    GameStatus getStatus();
+}
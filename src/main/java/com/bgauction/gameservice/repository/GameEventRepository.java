@@ -0,0 +1,60 @@
+package com.bgauction.gameservice.repository;
+
+import com.bgauction.gameservice.model.entity.GameEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The native statements name the tables they write: without that Hibernate would evict every second-level
+ * cache region on each event insert.
+ */
+public interface GameEventRepository extends JpaRepository<GameEvent, Long> {
+
+    @Query("select e from GameEvent e where e.id > :after order by e.id")
+    List<GameEvent> findAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select coalesce(max(e.id), 0) from GameEvent e")
+    long findMaxId();
+
+    // the row stays locked until commit, so event-writing transactions take feed positions in commit order
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_event_sequence"))
+    @Query(value = "update game_event_sequence set last_val = last_val + :count where name = 'game_events'",
+            nativeQuery = true)
+    int reservePositions(@Param("count") int count);
+
+    // one statement for any number of events, numbered from the positions reserved just before
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_events"))
+    @Query(value = "insert into game_events (id, game_id, type, status, created) "
+            + "select s.last_val - :count + row_number() over (order by g.id), g.id, :type, :status, :created "
+            + "from games g cross join game_event_sequence s where s.name = 'game_events' and g.id in :gameIds",
+            nativeQuery = true)
+    int insertEvents(@Param("gameIds") Collection<Long> gameIds,
+                     @Param("count") int count,
+                     @Param("type") String type,
+                     @Param("status") String status,
+                     @Param("created") LocalDateTime created);
+
+    @Query("select e.id from GameEvent e where e.created < :before order by e.id")
+    List<Long> findIdsCreatedBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from GameEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,11 +1,136 @@
 package com.bgauction.gameservice.repository;
 
 import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.projection.GameDetailRow;
+import com.bgauction.gameservice.model.projection.GameImageRow;
+import com.bgauction.gameservice.model.projection.GameIndexView;
+import com.bgauction.gameservice.model.projection.GameRow;
+import com.bgauction.gameservice.model.projection.GameStatusView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Every read and status update skips soft-deleted games; only the purge queries see them.
+ * Entity reads that can run on the read replica bypass storing into the second-level cache,
+ * so a lagging replica can't put stale games there. The bulk updates and deletes below make Hibernate
+ * evict the regions of the tables they touch, on execution and again on commit.
+ */
 public interface GameRepository extends JpaRepository<Game, Long> {
 
-    List<Game> findAllByUserId(Long longs);
+    @EntityGraph(Game.WITH_IMAGES)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    @Query("select g from Game g where g.id = :id and g.deleted = false")
+    Optional<Game> findWithImagesById(@Param("id") Long id);
+
+    @Query("select new com.bgauction.gameservice.model.projection.GameDetailRow(g.id, g.userId, g.title, g.description, g.condition, g.language, "
+            + "g.minPlayers, g.maxPlayers, g.status, g.created, g.version, i.id, i.url) "
+            + "from Game g left join g.images i where g.id = :id and g.deleted = false order by i.id")
+    List<GameDetailRow> findDetailRowsById(@Param("id") Long id);
+
+    @Query("select new com.bgauction.gameservice.model.projection.GameRow(g.id, g.userId, g.title, g.description, g.condition, g.language, "
+            + "g.minPlayers, g.maxPlayers, g.status, g.created, g.version) "
+            + "from Game g where g.userId = :userId and g.deleted = false order by g.created desc, g.id desc")
+    List<GameRow> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select new com.bgauction.gameservice.model.projection.GameRow(g.id, g.userId, g.title, g.description, g.condition, g.language, "
+            + "g.minPlayers, g.maxPlayers, g.status, g.created, g.version) "
+            + "from Game g where g.userId = :userId and g.deleted = false "
+            + "and (g.created < :created or (g.created = :created and g.id < :id)) "
+            + "order by g.created desc, g.id desc")
+    List<GameRow> findPageByUserIdAfter(@Param("userId") Long userId,
+                                        @Param("created") LocalDateTime created,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("select new com.bgauction.gameservice.model.projection.GameImageRow(i.game.id, i.id, i.url) "
+            + "from GameImage i where i.game.id in :gameIds order by i.id")
+    List<GameImageRow> findImageRowsByGameIdIn(@Param("gameIds") Collection<Long> gameIds);
+
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"))
+    @Query("select distinct g from Game g left join fetch g.images where g.id in :ids and g.deleted = false")
+    List<Game> findAllWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // its own read-write transaction, so it reads the primary even when called from a read-only one
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("select distinct g from Game g left join fetch g.images where g.id in :ids and g.deleted = false")
+    List<Game> findAllWithImagesOnPrimaryByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id as id, g.title as title, g.description as description, g.language as language, "
+            + "g.status as status, g.minPlayers as minPlayers, g.maxPlayers as maxPlayers from Game g "
+            + "where g.id > :afterId and g.deleted = false order by g.id")
+    List<GameIndexView> findIndexPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select g.id as id, g.title as title, g.description as description, g.language as language, "
+            + "g.status as status, g.minPlayers as minPlayers, g.maxPlayers as maxPlayers from Game g "
+            + "where g.id in :ids and g.deleted = false")
+    List<GameIndexView> findIndexViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id as id, g.status as status from Game g where g.id in :ids and g.deleted = false")
+    List<GameStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // locked in id order, so concurrent bulk changes over overlapping ids can't deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from Game g where g.id in :ids and g.deleted = false order by g.id")
+    List<Game> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from Game g where g.userId = :userId and g.deleted = false order by g.id")
+    List<Game> findActiveForUpdateByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select g.id from Game g where g.deleted = true order by g.id")
+    List<Long> findDeletedIds(Limit limit);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.status = :status, g.version = g.version + 1 where g.id = :id and g.status in :from "
+            + "and g.deleted = false")
+    int updateStatusById(@Param("id") Long id,
+                         @Param("status") GameStatus status,
+                         @Param("from") Collection<GameStatus> from);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.status = :status, g.version = g.version + 1 where g.id in :ids and g.status in :from "
+            + "and g.deleted = false")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") GameStatus status,
+                           @Param("from") Collection<GameStatus> from);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.deleted = true, g.version = g.version + 1 where g.id = :id and g.deleted = false")
+    int softDeleteById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Game g set g.deleted = true, g.version = g.version + 1 where g.userId = :userId and g.id in :ids "
+            + "and g.deleted = false")
+    int softDeleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from GameImage i where i.game.id in :gameIds")
+    int deleteImagesByGameIdIn(@Param("gameIds") Collection<Long> gameIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Game g where g.id in :ids and g.deleted = true")
+    int deleteDeletedByIdIn(@Param("ids") Collection<Long> ids);
 }
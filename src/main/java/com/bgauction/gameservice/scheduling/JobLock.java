@@ -0,0 +1,56 @@
+package com.bgauction.gameservice.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lease on a named job in the job_locks table, so a scheduled job fires on every instance but runs on one.
+ * The lease runs out by itself, so an instance that dies mid-job blocks the job for at most one lease.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class JobLock {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public boolean runExclusively(String name, Duration lease, Runnable job) {
+        if (!tryAcquire(name, lease)) {
+            log.debug("Job {} is running on another instance", name);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            release(name);
+        }
+    }
+
+    boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jdbcTemplate.update("update job_locks set locked_until = ?, locked_by = ? where name = ? and locked_until <= ?",
+                now.plus(lease), owner, name, now) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update("insert into job_locks (name, locked_until, locked_by) values (?, ?, ?)",
+                    name, now.plus(lease), owner) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    void release(String name) {
+        jdbcTemplate.update("update job_locks set locked_until = ? where name = ? and locked_by = ?",
+                LocalDateTime.now(), name, owner);
+    }
+}
@@ -0,0 +1,323 @@
+package com.bgauction.gameservice.search;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the browse attributes of every game (language, status, supported player counts).
+ * Positions are kept in ascending game id order, so walking a bitmap backwards yields newest games first.
+ * Instances hand out ids from separate blocks, so an id below the newest one is common: it is inserted in place,
+ * shifting only the positions after it. Removed positions are reused by neighbouring inserts and squeezed out
+ * by a background compaction once they make up a quarter of the index.
+ */
+@Component
+public class GameFacetIndex {
+
+    static final int MAX_TRACKED_PLAYERS = 20;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final Map<GameLanguage, BitSet> byLanguage = new EnumMap<>(GameLanguage.class);
+    private final Map<GameStatus, BitSet> byStatus = new EnumMap<>(GameStatus.class);
+    private final BitSet[] byPlayers = new BitSet[MAX_TRACKED_PLAYERS + 1];
+    private final BitSet alive = new BitSet();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private GameLanguage[] languages = new GameLanguage[INITIAL_CAPACITY];
+    private GameStatus[] statuses = new GameStatus[INITIAL_CAPACITY];
+    private int[] minPlayers = new int[INITIAL_CAPACITY];
+    private int[] maxPlayers = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public record Result(List<Long> ids,
+                         int total,
+                         Map<GameLanguage, Integer> languageCounts,
+                         Map<GameStatus, Integer> statusCounts,
+                         Long nextBeforeId) {
+    }
+
+    public GameFacetIndex() {
+        for (GameLanguage language : GameLanguage.values()) {
+            byLanguage.put(language, new BitSet());
+        }
+        for (GameStatus status : GameStatus.values()) {
+            byStatus.put(status, new BitSet());
+        }
+        for (int players = 1; players <= MAX_TRACKED_PLAYERS; players++) {
+            byPlayers[players] = new BitSet();
+        }
+    }
+
+    public void index(Long id, GameLanguage language, GameStatus status, Integer min, Integer max) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(id);
+            if (position == null) {
+                position = size == 0 || ids[size - 1] < id ? append(id) : insert(id);
+            }
+            store(position, language, status, min, max);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatus(Long id, GameStatus status) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.get(id);
+            if (position != null) {
+                store(position, languages[position], status, minPlayers[position], maxPlayers[position]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer position = positions.remove(id);
+            if (position != null) {
+                clear(position);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Result browse(Set<GameLanguage> languageFilter,
+                         Integer players,
+                         Set<GameStatus> statusFilter,
+                         Set<GameStatus> statusFacets,
+                         Long beforeId,
+                         int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet statusMask = union(byStatus, statusFilter);
+            BitSet languageMask = languageFilter.isEmpty() ? null : union(byLanguage, languageFilter);
+            BitSet playersMask = players == null ? null : supporting(players);
+
+            BitSet languageBase = intersect(statusMask, playersMask);
+            Map<GameLanguage, Integer> languageCounts = new EnumMap<>(GameLanguage.class);
+            byLanguage.forEach((language, bits) -> languageCounts.put(language, countBoth(languageBase, bits)));
+
+            BitSet statusBase = intersect(union(byStatus, statusFacets), intersectNullable(languageMask, playersMask));
+            Map<GameStatus, Integer> statusCounts = new EnumMap<>(GameStatus.class);
+            statusFacets.forEach(status -> statusCounts.put(status, countBoth(statusBase, byStatus.get(status))));
+
+            BitSet matches = intersect(languageBase, languageMask);
+
+            int start = beforeId == null ? size - 1 : positionBefore(beforeId);
+            List<Long> page = new ArrayList<>(limit);
+            int last = -1;
+            for (int i = start < 0 ? -1 : matches.previousSetBit(start); i >= 0 && page.size() < limit;
+                 i = i == 0 ? -1 : matches.previousSetBit(i - 1)) {
+                page.add(ids[i]);
+                last = i;
+            }
+            Long nextBeforeId = last > 0 && page.size() == limit && matches.previousSetBit(last - 1) >= 0
+                    ? ids[last]
+                    : null;
+            return new Result(page, matches.cardinality(), languageCounts, statusCounts, nextBeforeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // positions including removed ones that are not compacted yet
+    int slots() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.search.facet.compact-delay-ms:60000}")
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            int removed = size - positions.size();
+            if (removed == 0 || removed * 4 < size) {
+                return;
+            }
+            int next = 0;
+            for (int old = alive.nextSetBit(0); old >= 0; old = alive.nextSetBit(old + 1), next++) {
+                if (old != next) {
+                    long id = ids[old];
+                    GameLanguage language = languages[old];
+                    GameStatus status = statuses[old];
+                    int min = minPlayers[old];
+                    int max = maxPlayers[old];
+                    clear(old);
+                    ids[next] = id;
+                    positions.put(id, next);
+                    store(next, language, status, min, max);
+                }
+            }
+            Arrays.fill(languages, next, size, null);
+            Arrays.fill(statuses, next, size, null);
+            size = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int append(Long id) {
+        ensureCapacity();
+        ids[size] = id;
+        positions.put(id, size);
+        return size++;
+    }
+
+    // Only the positions above the new id move, and ids from another instance's block land close to the end.
+    private int insert(Long id) {
+        int found = Arrays.binarySearch(ids, 0, size, id);
+        int position;
+        if (found >= 0) {
+            position = found;
+        } else {
+            position = -(found + 1);
+            if (position > 0 && !alive.get(position - 1)) {
+                position--;
+            } else if (alive.get(position)) {
+                shiftUp(position);
+            }
+            ids[position] = id;
+        }
+        positions.put(id, position);
+        return position;
+    }
+
+    private void shiftUp(int position) {
+        ensureCapacity();
+        int moved = size - position;
+        System.arraycopy(ids, position, ids, position + 1, moved);
+        System.arraycopy(languages, position, languages, position + 1, moved);
+        System.arraycopy(statuses, position, statuses, position + 1, moved);
+        System.arraycopy(minPlayers, position, minPlayers, position + 1, moved);
+        System.arraycopy(maxPlayers, position, maxPlayers, position + 1, moved);
+        shiftUp(alive, position);
+        byLanguage.values().forEach(bits -> shiftUp(bits, position));
+        byStatus.values().forEach(bits -> shiftUp(bits, position));
+        for (int players = 1; players <= MAX_TRACKED_PLAYERS; players++) {
+            shiftUp(byPlayers[players], position);
+        }
+        size++;
+        for (int i = alive.nextSetBit(position + 1); i >= 0; i = alive.nextSetBit(i + 1)) {
+            positions.put(ids[i], i);
+        }
+    }
+
+    private static void shiftUp(BitSet bits, int from) {
+        for (int i = bits.length() - 1; i >= from; i = bits.previousSetBit(i - 1)) {
+            bits.clear(i);
+            bits.set(i + 1);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            languages = Arrays.copyOf(languages, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            minPlayers = Arrays.copyOf(minPlayers, capacity);
+            maxPlayers = Arrays.copyOf(maxPlayers, capacity);
+        }
+    }
+
+    private void store(int position, GameLanguage language, GameStatus status, Integer min, Integer max) {
+        clear(position);
+        languages[position] = language;
+        statuses[position] = status;
+        minPlayers[position] = min == null ? 0 : min;
+        maxPlayers[position] = max == null ? 0 : max;
+        alive.set(position);
+        if (language != null) {
+            byLanguage.get(language).set(position);
+        }
+        if (status != null) {
+            byStatus.get(status).set(position);
+        }
+        int from = Math.max(1, minPlayers[position]);
+        int to = Math.min(MAX_TRACKED_PLAYERS, maxPlayers[position]);
+        for (int players = from; players <= to; players++) {
+            byPlayers[players].set(position);
+        }
+    }
+
+    private void clear(int position) {
+        alive.clear(position);
+        byLanguage.values().forEach(bits -> bits.clear(position));
+        byStatus.values().forEach(bits -> bits.clear(position));
+        for (int players = 1; players <= MAX_TRACKED_PLAYERS; players++) {
+            byPlayers[players].clear(position);
+        }
+    }
+
+    private BitSet supporting(int players) {
+        if (players <= MAX_TRACKED_PLAYERS) {
+            return byPlayers[players];
+        }
+        BitSet bits = new BitSet(size);
+        alive.stream().filter(i -> minPlayers[i] <= players && players <= maxPlayers[i]).forEach(bits::set);
+        return bits;
+    }
+
+    private int positionBefore(long beforeId) {
+        int found = Arrays.binarySearch(ids, 0, size, beforeId);
+        return (found >= 0 ? found : -(found + 1)) - 1;
+    }
+
+    private static <K> BitSet union(Map<K, BitSet> index, Collection<K> keys) {
+        BitSet bits = new BitSet();
+        keys.forEach(key -> bits.or(index.get(key)));
+        return bits;
+    }
+
+    private static BitSet intersect(BitSet bits, BitSet mask) {
+        BitSet result = (BitSet) bits.clone();
+        if (mask != null) {
+            result.and(mask);
+        }
+        return result;
+    }
+
+    private static BitSet intersectNullable(BitSet first, BitSet second) {
+        if (first == null) {
+            return second;
+        }
+        return intersect(first, second);
+    }
+
+    private static int countBoth(BitSet first, BitSet second) {
+        BitSet both = (BitSet) first.clone();
+        both.and(second);
+        return both.cardinality();
+    }
+}
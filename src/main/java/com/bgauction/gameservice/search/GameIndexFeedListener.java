@@ -0,0 +1,93 @@
+package com.bgauction.gameservice.search;
+
+import com.bgauction.gameservice.model.dto.GameEventDto;
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.projection.GameIndexView;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.service.GameEventService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Follows the change feed and applies every change to {@link GameSearchIndex} and {@link GameFacetIndex}, so games
+ * created, edited, sold or deleted on another instance show up in (or leave) this instance's search and browse
+ * within about game.search.feed.poll-ms.
+ * Starts at the offset {@link GameIndexLoader} loaded from. Every named game is reloaded from the primary, so
+ * replaying a change this instance already applied just writes the committed state again.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "game.search.feed.enabled", havingValue = "true", matchIfMissing = true)
+public class GameIndexFeedListener {
+
+    private final GameEventService gameEventService;
+    private final GameRepository gameRepository;
+    private final GameIndexLoader gameIndexLoader;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameFacetIndex gameFacetIndex;
+    private final int batchSize;
+    private Long offset;
+
+    public GameIndexFeedListener(GameEventService gameEventService,
+                                 GameRepository gameRepository,
+                                 GameIndexLoader gameIndexLoader,
+                                 GameSearchIndex gameSearchIndex,
+                                 GameFacetIndex gameFacetIndex,
+                                 @Value("${game.search.feed.batch-size:500}") int batchSize) {
+        this.gameEventService = gameEventService;
+        this.gameRepository = gameRepository;
+        this.gameIndexLoader = gameIndexLoader;
+        this.gameSearchIndex = gameSearchIndex;
+        this.gameFacetIndex = gameFacetIndex;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${game.search.feed.poll-ms:1000}")
+    public void poll() {
+        try {
+            if (offset == null) {
+                offset = gameIndexLoader.loadedOffset();
+            }
+            GameEventPageDto page;
+            do {
+                page = gameEventService.readEvents(offset, batchSize, Duration.ZERO);
+                apply(page.getEvents());
+                offset = page.getNextOffset();
+            } while (page.getEvents().size() == batchSize);
+        } catch (RuntimeException e) {
+            // the next poll resumes from the same offset
+            log.warn("Could not apply the change feed to the search and facet indexes", e);
+        }
+    }
+
+    private void apply(List<GameEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = events.stream().map(GameEventDto::getGameId).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, GameIndexView> games = gameRepository.findIndexViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(GameIndexView::getId, Function.identity()));
+        for (Long id : ids) {
+            GameIndexView game = games.get(id);
+            // a game that is gone or soft-deleted by now is unindexed, whatever the event said
+            if (game == null) {
+                gameSearchIndex.remove(id);
+                gameFacetIndex.remove(id);
+            } else {
+                gameSearchIndex.index(id, game.getTitle(), game.getDescription());
+                gameFacetIndex.index(id, game.getLanguage(), game.getStatus(), game.getMinPlayers(), game.getMaxPlayers());
+            }
+        }
+    }
+}
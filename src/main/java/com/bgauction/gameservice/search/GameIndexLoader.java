@@ -0,0 +1,64 @@
+package com.bgauction.gameservice.search;
+
+import com.bgauction.gameservice.model.projection.GameIndexView;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.service.GameEventService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills {@link GameSearchIndex} and {@link GameFacetIndex} from the games table
+ * before the web server starts taking requests, and remembers the change feed offset the load started from.
+ */
+@Log4j2
+@Component
+public class GameIndexLoader implements SmartInitializingSingleton {
+
+    private final GameRepository gameRepository;
+    private final GameEventService gameEventService;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameFacetIndex gameFacetIndex;
+    private final int batchSize;
+    private volatile long loadedOffset;
+
+    public GameIndexLoader(GameRepository gameRepository,
+                           GameEventService gameEventService,
+                           GameSearchIndex gameSearchIndex,
+                           GameFacetIndex gameFacetIndex,
+                           @Value("${game.search.load-batch-size:1000}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.gameEventService = gameEventService;
+        this.gameSearchIndex = gameSearchIndex;
+        this.gameFacetIndex = gameFacetIndex;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.currentTimeMillis();
+        // taken before the table is read, so following the feed from here replays anything committed meanwhile
+        loadedOffset = gameEventService.latestOffset();
+        long afterId = 0;
+        List<GameIndexView> page;
+        do {
+            page = gameRepository.findIndexPageAfter(afterId, Limit.of(batchSize));
+            for (GameIndexView game : page) {
+                gameSearchIndex.index(game.getId(), game.getTitle(), game.getDescription());
+                gameFacetIndex.index(game.getId(), game.getLanguage(), game.getStatus(),
+                        game.getMinPlayers(), game.getMaxPlayers());
+                afterId = game.getId();
+            }
+        } while (page.size() == batchSize);
+        log.info("Search and facet indexes loaded {} games in {} ms",
+                gameSearchIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    public long loadedOffset() {
+        return loadedOffset;
+    }
+}
@@ -0,0 +1,149 @@
+package com.bgauction.gameservice.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over game titles and descriptions.
+ * Reads are lock-free; writes are serialized so a game's postings are always replaced as a whole.
+ */
+@Component
+public class GameSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_AUTOCOMPLETE_CANDIDATES = 10_000;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> titlePostings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedGame> documents = new ConcurrentHashMap<>();
+
+    private record IndexedGame(String title, Set<String> titleTerms, Set<String> terms) {
+    }
+
+    private record ScoredId(Long id, int titleHits) {
+    }
+
+    public synchronized void index(Long id, String title, String description) {
+        removeTerms(id);
+        Set<String> titleTerms = tokenize(title);
+        Set<String> terms = new LinkedHashSet<>(titleTerms);
+        terms.addAll(tokenize(description));
+        documents.put(id, new IndexedGame(title, titleTerms, terms));
+        terms.forEach(term -> postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(id));
+        titleTerms.forEach(term -> titlePostings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    public synchronized void remove(Long id) {
+        removeTerms(id);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<Set<Long>> matches = new ArrayList<>();
+        Set<String> queryTerms = tokenize(query);
+        for (String term : queryTerms) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                return List.of();
+            }
+            matches.add(ids);
+        }
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        matches.sort(Comparator.comparingInt(Set::size));
+        Set<Long> smallest = matches.get(0);
+        List<Set<Long>> others = matches.subList(1, matches.size());
+
+        Comparator<ScoredId> ranking = Comparator.comparingInt(ScoredId::titleHits).thenComparing(ScoredId::id);
+        PriorityQueue<ScoredId> top = new PriorityQueue<>(limit + 1, ranking);
+        for (Long id : smallest) {
+            if (others.stream().allMatch(ids -> ids.contains(id))) {
+                IndexedGame game = documents.get(id);
+                int titleHits = game == null ? 0 : (int) queryTerms.stream().filter(game.titleTerms()::contains).count();
+                top.add(new ScoredId(id, titleHits));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().id());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public List<String> autocomplete(String prefix, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(prefix));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String last = terms.remove(terms.size() - 1);
+        NavigableMap<String, Set<Long>> candidates = titlePostings.subMap(last, true, last + Character.MAX_VALUE, false);
+
+        Set<String> suggestions = new LinkedHashSet<>();
+        int examined = 0;
+        for (Set<Long> ids : candidates.values()) {
+            for (Long id : ids) {
+                IndexedGame game = documents.get(id);
+                if (game != null && game.titleTerms().containsAll(terms)) {
+                    suggestions.add(game.title());
+                    if (suggestions.size() >= limit) {
+                        return List.copyOf(suggestions);
+                    }
+                }
+                if (++examined >= MAX_AUTOCOMPLETE_CANDIDATES) {
+                    return List.copyOf(suggestions);
+                }
+            }
+        }
+        return List.copyOf(suggestions);
+    }
+
+    private void removeTerms(Long id) {
+        IndexedGame previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        previous.terms().forEach(term -> removePosting(postings, term, id));
+        previous.titleTerms().forEach(term -> removePosting(titlePostings, term, id));
+    }
+
+    private static void removePosting(Map<String, Set<Long>> index, String term, Long id) {
+        index.computeIfPresent(term, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -8,9 +8,11 @@ import org.springframework.context.annotation.Configuration;
 public class FilterConfig {
 
     private final ServiceKeyFilter serviceKeyFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public FilterConfig(ServiceKeyFilter serviceKeyFilter) {
+    public FilterConfig(ServiceKeyFilter serviceKeyFilter, RateLimitFilter rateLimitFilter) {
         this.serviceKeyFilter = serviceKeyFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -21,4 +23,13 @@ public class FilterConfig {
         registrationBean.setOrder(1);
         return registrationBean;
     }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(rateLimitFilter);
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(2);
+        return registrationBean;
+    }
 }
@@ -0,0 +1,133 @@
+package com.bgauction.gameservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-route admission control keyed on X-User-Id, with a separate bucket size and refill rate for
+ * each route group: public routes (user calls forwarded by the gateway) and /internal routes (service-to-service
+ * calls behind the service key). Every request reaches this service through the gateway, so the remote address
+ * can't tell clients apart: public requests without a user are not limited, and internal calls without a user
+ * share one bucket per route.
+ * Buckets live in a bounded cache and are dropped after being idle, so memory stays flat however many users show up.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String INTERNAL_PREFIX = "/internal/";
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String TOO_MANY_REQUESTS = "Too many requests, try again later";
+
+    private final boolean enabled;
+    private final Map<RouteGroup, BucketConfig> configs;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    enum RouteGroup {
+        PUBLIC,
+        INTERNAL
+    }
+
+    private record BucketConfig(int capacity, double refillPerSecond) {
+    }
+
+    private record BucketKey(RouteGroup group, String userId, String method, String route) {
+    }
+
+    public RateLimitFilter(@Value("${game.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${game.rate-limit.public.capacity:40}") int publicCapacity,
+                           @Value("${game.rate-limit.public.refill:20}") double publicRefill,
+                           @Value("${game.rate-limit.internal.capacity:400}") int internalCapacity,
+                           @Value("${game.rate-limit.internal.refill:200}") double internalRefill,
+                           @Value("${game.rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${game.rate-limit.idle-seconds:300}") long idleSeconds) {
+        this.enabled = enabled;
+        this.configs = new EnumMap<>(RouteGroup.class);
+        this.configs.put(RouteGroup.PUBLIC, new BucketConfig(publicCapacity, publicRefill));
+        this.configs.put(RouteGroup.INTERNAL, new BucketConfig(internalCapacity, internalRefill));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || request.getHeader(USER_ID_HEADER) == null && group(path(request)) == RouteGroup.PUBLIC;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        BucketKey key = new BucketKey(group(path), request.getHeader(USER_ID_HEADER), request.getMethod(), route(path));
+
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> {
+            BucketConfig config = configs.get(k.group());
+            return new TokenBucket(config.refillPerSecond(), config.capacity(), now);
+        }).tryAcquire(now);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(
+                    waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(TOO_MANY_REQUESTS);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    static RouteGroup group(String path) {
+        return path.startsWith(INTERNAL_PREFIX) ? RouteGroup.INTERNAL : RouteGroup.PUBLIC;
+    }
+
+    // numeric path segments are ids, so /game/1 and /game/2 share one bucket
+    static String route(String path) {
+        StringBuilder route = new StringBuilder(path.length());
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            route.append(isId(segment) ? "/{id}" : segment);
+            start = end;
+        }
+        return route.toString();
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.length() < 2 || segment.charAt(0) != '/') {
+            return false;
+        }
+        for (int i = 1; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
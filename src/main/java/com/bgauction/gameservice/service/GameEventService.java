@@ -0,0 +1,16 @@
+package com.bgauction.gameservice.service;
+
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+
+import java.time.Duration;
+import java.util.Collection;
+
+public interface GameEventService {
+    void recordEvent(Long gameId, GameEventType type, GameStatus status);
+    void recordEvents(Collection<Long> gameIds, GameEventType type, GameStatus status);
+    GameEventPageDto readEvents(long after, int limit, Duration wait);
+    long latestOffset();
+    int purgeExpiredEvents();
+}
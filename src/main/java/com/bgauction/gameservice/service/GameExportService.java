@@ -0,0 +1,10 @@
+package com.bgauction.gameservice.service;
+
+import com.bgauction.gameservice.model.dto.GameExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface GameExportService {
+    long exportGames(GameExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.bgauction.gameservice.service;
+
+import com.bgauction.gameservice.model.dto.GameImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface GameImportService {
+    GameImportResultDto importGames(InputStream ndjson) throws IOException;
+}
@@ -0,0 +1,5 @@
+package com.bgauction.gameservice.service;
+
+public interface GamePurgeService {
+    int purgeDeletedGames();
+}
@@ -1,16 +1,37 @@
 package com.bgauction.gameservice.service;
 
+import com.bgauction.gameservice.model.dto.GameBrowsePage;
+import com.bgauction.gameservice.model.dto.GameCacheStatsDto;
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.dto.GamePage;
+import com.bgauction.gameservice.model.dto.GameStatusChangeResult;
 import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface GameService {
     Game findGameById(Long id);
-    List<Game> findGameListByUserId(Long userId);
+    GameJson findGameJsonById(Long id);
+    List<GameDto> findGameListByUserId(Long userId);
+    GamePage findGamePageByUserId(Long userId, String cursor, int size);
+    List<Game> findGamesByIds(Collection<Long> ids);
+    List<Game> searchGames(String query, int limit);
+    List<String> autocompleteTitles(String prefix, int limit);
+    GameBrowsePage browseGames(Set<GameLanguage> languages, Integer players, Set<GameStatus> statuses,
+                               String cursor, int size);
     Game saveGame(Game game);
     void setStatusToInAuctionForGameWithId(Long id);
     void setStatusToSoldForGameWithId(Long id);
     void setStatusToPublishedForGameWithId(Long id);
+    Map<Long, GameStatusChangeResult> changeGameStatuses(Collection<Long> ids, GameStatus status);
     void updateGame(Game game);
     void deleteGameById(Long id);
+    List<Long> deleteGamesByUserId(Long userId);
+    GameCacheStatsDto getGameCacheStats();
 }
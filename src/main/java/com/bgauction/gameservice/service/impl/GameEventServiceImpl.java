@@ -0,0 +1,166 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.model.dto.GameEventDto;
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.repository.GameEventRepository;
+import com.bgauction.gameservice.scheduling.JobLock;
+import com.bgauction.gameservice.service.GameEventService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes game events into the outbox table and serves them as an offset-based change feed.
+ * Feed positions come from the game_event_sequence row, which a writing transaction keeps locked until it commits,
+ * so positions become visible in commit order: a reader never passes a position that commits later, and a rolled
+ * back transaction leaves its positions to the next writer. Event-writing transactions queue on that row from
+ * their event insert to their commit, so events are inserted as the last write of a transaction.
+ * Events older than game.events.retention-hours are deleted in batches by game.events.purge-cron, on one instance.
+ */
+@Log4j2
+@Service
+public class GameEventServiceImpl implements GameEventService {
+
+    private final GameEventRepository gameEventRepository;
+    private final JobLock jobLock;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    private final Duration purgeLockLease;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition committed = lock.newCondition();
+
+    private static final String PURGE_JOB = "game-events-purge";
+
+    public GameEventServiceImpl(GameEventRepository gameEventRepository,
+                                JobLock jobLock,
+                                @Value("${game.events.poll-interval-ms:1000}") long pollIntervalMs,
+                                @Value("${game.events.retention-hours:168}") long retentionHours,
+                                @Value("${game.events.purge-batch-size:1000}") int purgeBatchSize,
+                                @Value("${game.events.purge-lock-seconds:3600}") long purgeLockSeconds) {
+        this.gameEventRepository = gameEventRepository;
+        this.jobLock = jobLock;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.retention = Duration.ofHours(retentionHours);
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgeLockLease = Duration.ofSeconds(purgeLockSeconds);
+    }
+
+    @Override
+    @Transactional
+    public void recordEvent(Long gameId, GameEventType type, GameStatus status) {
+        recordEvents(List.of(gameId), type, status);
+    }
+
+    @Override
+    @Transactional
+    public void recordEvents(Collection<Long> gameIds, GameEventType type, GameStatus status) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        gameEventRepository.reservePositions(gameIds.size());
+        gameEventRepository.insertEvents(gameIds, gameIds.size(), type.name(), status == null ? null : status.name(),
+                LocalDateTime.now());
+        signalAfterCommit();
+    }
+
+    @Scheduled(cron = "${game.events.purge-cron:0 30 4 * * *}")
+    public void purgeOnSchedule() {
+        jobLock.runExclusively(PURGE_JOB, purgeLockLease, () -> {
+            int purged = purgeExpiredEvents();
+            if (purged > 0) {
+                log.info("Purged {} expired game events", purged);
+            }
+        });
+    }
+
+    // ids follow creation time closely enough that the oldest rows are found by walking the primary key
+    @Override
+    public int purgeExpiredEvents() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        while (true) {
+            List<Long> ids = gameEventRepository.findIdsCreatedBefore(before, Limit.of(purgeBatchSize));
+            if (ids.isEmpty()) {
+                return purged;
+            }
+            purged += gameEventRepository.deleteByIdIn(ids);
+        }
+    }
+
+    @Override
+    public GameEventPageDto readEvents(long after, int limit, Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            List<GameEventDto> events = readBatch(after, limit);
+            long remaining = deadline - System.nanoTime();
+            // local commits wake readers at once; the poll interval picks up events written by other instances
+            if (!events.isEmpty() || remaining <= 0 || !awaitCommit(Math.min(remaining, pollInterval.toNanos()))) {
+                long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getOffset();
+                return new GameEventPageDto(events, nextOffset);
+            }
+        }
+    }
+
+    @Override
+    public long latestOffset() {
+        return gameEventRepository.findMaxId();
+    }
+
+    private List<GameEventDto> readBatch(long after, int limit) {
+        return gameEventRepository.findAfter(after, Limit.of(limit)).stream()
+                .map(event -> new GameEventDto(event.getId(), event.getGameId(), event.getType(), event.getStatus(),
+                        event.getCreated()))
+                .toList();
+    }
+
+    private void signalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            signal();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal();
+            }
+        });
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitCommit(long nanos) {
+        lock.lock();
+        try {
+            committed.await(nanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.exception.ConflictException;
+import com.bgauction.gameservice.model.dto.GameExportFormat;
+import com.bgauction.gameservice.service.GameExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams the whole catalog from a forward-only cursor straight to the output stream, one game at a time.
+ * Exports use their own small connection pool, so a long export never holds connections needed by OLTP requests.
+ * The pool connects to the read replica (game.datasource.replica.*) when one is configured, otherwise to the primary.
+ */
+@Log4j2
+@Service
+public class GameExportServiceImpl implements GameExportService {
+
+    private static final String EXPORT_RUNNING = "Maximum number of concurrent exports: %d is reached, try again later";
+    private static final String EXPORT_QUERY = "select g.id, g.user_id, g.title, g.description, g.game_condition, "
+            + "g.language, g.min_players, g.max_players, g.status, g.created, g.version, i.id as image_id, i.url "
+            + "from games g left join game_images i on i.game_id = g.id where g.deleted = false order by g.id";
+    private static final String CSV_HEADER = "id,user_id,title,description,condition,language,min_players,"
+            + "max_players,status,created,version,image_urls\n";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final HikariDataSource exportDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final int maxConcurrentExports;
+
+    public GameExportServiceImpl(DataSourceProperties dataSourceProperties,
+                                 Environment environment,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${game.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                 @Value("${game.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${game.export.max-concurrent:1}") int maxConcurrentExports) {
+        this.exportDataSource = replicaEnabled
+                ? replicaDataSource(environment)
+                : dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.exportDataSource.setPoolName("game-export");
+        this.exportDataSource.setMaximumPoolSize(maxConcurrentExports);
+        this.exportDataSource.setMinimumIdle(0);
+        this.exportDataSource.setReadOnly(true);
+        this.exportDataSource.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
+        // the pool is not a bean, so it has to be bound to the registry by hand to show up next to the main pool
+        this.exportDataSource.setMetricRegistry(meterRegistry);
+        if (exportDataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            // without a server-side cursor Connector/J buffers the whole result set and ignores the fetch size
+            this.exportDataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrentExports);
+        this.maxConcurrentExports = maxConcurrentExports;
+    }
+
+    @Override
+    public long exportGames(GameExportFormat format, OutputStream out) throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new ConflictException(String.format(EXPORT_RUNNING, maxConcurrentExports));
+        }
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            GameRowWriter rowWriter = format == GameExportFormat.CSV
+                    ? new CsvRowWriter(writer)
+                    : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(writer));
+            long exported = export(rowWriter);
+            rowWriter.finish();
+            writer.flush();
+            log.info("Exported {} games as {}", exported, format);
+            return exported;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private long export(GameRowWriter rowWriter) {
+        long[] exported = {0};
+        long[] currentId = {0};
+        jdbcTemplate.query(EXPORT_QUERY, (RowCallbackHandler) rs -> {
+            try {
+                long id = rs.getLong("id");
+                if (id != currentId[0]) {
+                    if (exported[0] > 0) {
+                        rowWriter.endGame();
+                    }
+                    rowWriter.startGame(rs);
+                    currentId[0] = id;
+                    exported[0]++;
+                }
+                String url = rs.getString("url");
+                if (url != null) {
+                    rowWriter.image(rs.getLong("image_id"), url);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (exported[0] > 0) {
+            try {
+                rowWriter.endGame();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return exported[0];
+    }
+
+    // bound like the replica pool bean, the export pool settings then override its size
+    private static HikariDataSource replicaDataSource(Environment environment) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("game.datasource.replica", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void close() {
+        exportDataSource.close();
+    }
+
+    private interface GameRowWriter {
+        void startGame(ResultSet rs) throws SQLException, IOException;
+
+        void image(long id, String url) throws IOException;
+
+        void endGame() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements GameRowWriter {
+
+        private final JsonGenerator json;
+
+        private NdjsonRowWriter(JsonGenerator json) {
+            this.json = json;
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void startGame(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong("id"));
+            json.writeNumberField("userId", rs.getLong("user_id"));
+            json.writeStringField("title", rs.getString("title"));
+            json.writeStringField("description", rs.getString("description"));
+            json.writeStringField("condition", rs.getString("game_condition"));
+            json.writeStringField("language", rs.getString("language"));
+            json.writeNumberField("minPlayers", rs.getInt("min_players"));
+            json.writeNumberField("maxPlayers", rs.getInt("max_players"));
+            json.writeStringField("status", rs.getString("status"));
+            Timestamp created = rs.getTimestamp("created");
+            json.writeStringField("created", created == null ? null : created.toLocalDateTime().toString());
+            json.writeNumberField("version", rs.getLong("version"));
+            json.writeArrayFieldStart("images");
+        }
+
+        @Override
+        public void image(long id, String url) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", id);
+            json.writeStringField("url", url);
+            json.writeEndObject();
+        }
+
+        @Override
+        public void endGame() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements GameRowWriter {
+
+        private final Writer writer;
+        private boolean firstImage;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.writer.write(CSV_HEADER);
+        }
+
+        @Override
+        public void startGame(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong("id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("user_id")));
+            writer.write(',');
+            writeQuoted(rs.getString("title"));
+            writer.write(',');
+            writeQuoted(rs.getString("description"));
+            writer.write(',');
+            writeQuoted(rs.getString("game_condition"));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getString("language")));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("min_players")));
+            writer.write(',');
+            writer.write(Integer.toString(rs.getInt("max_players")));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getString("status")));
+            writer.write(',');
+            Timestamp created = rs.getTimestamp("created");
+            writer.write(created == null ? "" : created.toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("version")));
+            writer.write(",\"");
+            firstImage = true;
+        }
+
+        @Override
+        public void image(long id, String url) throws IOException {
+            if (!firstImage) {
+                writer.write(' ');
+            }
+            writer.write(url.replace("\"", "\"\""));
+            firstImage = false;
+        }
+
+        @Override
+        public void endGame() throws IOException {
+            writer.write("\"\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * URL-keyed diff between the stored images of a game and the submitted ones.
+ * Stored images whose URL is still submitted are kept as they are, so an unchanged image list causes no writes.
+ */
+final class GameImageDiff {
+
+    record Result(List<GameImage> inserted, List<GameImage> deleted) {
+
+        boolean isEmpty() {
+            return inserted.isEmpty() && deleted.isEmpty();
+        }
+    }
+
+    private GameImageDiff() {
+    }
+
+    /**
+     * Applies the submitted images to the game's image collection in place. New images come first,
+     * in submitted order, followed by the kept images in their stored order.
+     */
+    static Result apply(Game game, List<GameImage> submitted) {
+        Set<String> submittedUrls = new LinkedHashSet<>(submitted.size() * 2);
+        for (GameImage image : submitted) {
+            if (image.getUrl() != null) {
+                submittedUrls.add(image.getUrl());
+            }
+        }
+
+        List<GameImage> current = game.getImages();
+        Map<String, GameImage> kept = new HashMap<>(current.size() * 2);
+        List<GameImage> deleted = new ArrayList<>();
+        for (GameImage image : current) {
+            if (submittedUrls.contains(image.getUrl()) && kept.putIfAbsent(image.getUrl(), image) == null) {
+                continue;
+            }
+            deleted.add(image);
+        }
+
+        List<GameImage> inserted = new ArrayList<>();
+        for (String url : submittedUrls) {
+            if (!kept.containsKey(url)) {
+                inserted.add(GameImage.builder().url(url).game(game).build());
+            }
+        }
+
+        if (!inserted.isEmpty() || !deleted.isEmpty()) {
+            List<GameImage> images = new ArrayList<>(inserted.size() + kept.size());
+            images.addAll(inserted);
+            for (GameImage image : current) {
+                if (kept.get(image.getUrl()) == image) {
+                    images.add(image);
+                }
+            }
+            current.clear();
+            current.addAll(images);
+        }
+        return new Result(inserted, deleted);
+    }
+}
@@ -0,0 +1,186 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.cache.GameCache;
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameImportErrorDto;
+import com.bgauction.gameservice.model.dto.GameImportResultDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.search.GameFacetIndex;
+import com.bgauction.gameservice.search.GameSearchIndex;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams NDJSON game records into the database in chunked transactions.
+ * Only the current chunk is held in memory; the persistence context is flushed and cleared after every chunk.
+ */
+@Log4j2
+@Service
+public class GameImportServiceImpl implements GameImportService {
+
+    private static final String GAME_ID_MUST_BE_NULL = "id: must be null or 0";
+    private static final String IMAGE_ID_MUST_BE_NULL = "images: ids for new game must be null or 0";
+    private static final String INVALID_JSON = "invalid JSON: %s";
+    private static final String CHUNK_FAILED = "chunk could not be saved: %s";
+
+    private final GameRepository gameRepository;
+    private final GameMapper gameMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameFacetIndex gameFacetIndex;
+    private final GameEventService gameEventService;
+    private final GameCache gameCache;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public GameImportServiceImpl(GameRepository gameRepository,
+                                 GameMapper gameMapper,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 GameSearchIndex gameSearchIndex,
+                                 GameFacetIndex gameFacetIndex,
+                                 GameEventService gameEventService,
+                                 GameCache gameCache,
+                                 @Value("${game.import.chunk-size:500}") int chunkSize,
+                                 @Value("${game.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.gameRepository = gameRepository;
+        this.gameMapper = gameMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.gameSearchIndex = gameSearchIndex;
+        this.gameFacetIndex = gameFacetIndex;
+        this.gameEventService = gameEventService;
+        this.gameCache = gameCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public GameImportResultDto importGames(InputStream ndjson) throws IOException {
+        GameImportResultDto result = new GameImportResultDto();
+        List<Game> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Game game = parseLine(line, lineNumber, result);
+                if (game != null) {
+                    chunk.add(game);
+                    chunkLines.add(lineNumber);
+                }
+                if (chunk.size() >= chunkSize) {
+                    saveChunk(chunk, chunkLines, result);
+                }
+            }
+        }
+        saveChunk(chunk, chunkLines, result);
+        return result;
+    }
+
+    private Game parseLine(String line, long lineNumber, GameImportResultDto result) {
+        GameDto dto;
+        try {
+            dto = objectMapper.readValue(line, GameDto.class);
+        } catch (JsonProcessingException e) {
+            reportError(result, lineNumber, List.of(String.format(INVALID_JSON, e.getOriginalMessage())));
+            return null;
+        }
+        List<String> errors = new ArrayList<>();
+        Set<ConstraintViolation<GameDto>> violations = validator.validate(dto);
+        violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .forEach(v -> errors.add(v.getPropertyPath() + ": " + v.getMessage()));
+        if (dto.getId() != null && dto.getId() != 0) {
+            errors.add(GAME_ID_MUST_BE_NULL);
+        }
+        if (dto.getImages() != null && !dto.getImages().stream().allMatch(image -> image.getId() == null)) {
+            errors.add(IMAGE_ID_MUST_BE_NULL);
+        }
+        if (!errors.isEmpty()) {
+            reportError(result, lineNumber, errors);
+            return null;
+        }
+        Game game = gameMapper.gameDtoToGame(dto);
+        game.setId(null);
+        game.setVersion(null);
+        game.setStatus(GameStatus.PUBLISHED);
+        game.setImages(game.getImages() == null ? new ArrayList<>() : game.getImages());
+        return game;
+    }
+
+    private void saveChunk(List<Game> chunk, List<Long> chunkLines, GameImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // a bulk load would otherwise flush the hot entries out of the second-level cache
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                gameRepository.saveAll(chunk);
+                gameEventService.recordEvents(
+                        chunk.stream().map(Game::getId).toList(), GameEventType.CREATED, GameStatus.PUBLISHED);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + chunk.size());
+            chunk.forEach(game -> {
+                gameCache.invalidate(game.getId());
+                gameSearchIndex.index(game.getId(), game.getTitle(), game.getDescription());
+                gameFacetIndex.index(game.getId(), game.getLanguage(), game.getStatus(),
+                        game.getMinPlayers(), game.getMaxPlayers());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Import chunk of {} games failed", chunk.size(), e);
+            entityManager.clear();
+            String message = String.format(CHUNK_FAILED, e.getMessage());
+            chunkLines.forEach(line -> reportError(result, line, List.of(message)));
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void reportError(GameImportResultDto result, long lineNumber, List<String> errors) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new GameImportErrorDto(lineNumber, errors));
+        }
+    }
+}
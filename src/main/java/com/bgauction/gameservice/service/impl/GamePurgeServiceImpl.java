@@ -0,0 +1,78 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.scheduling.JobLock;
+import com.bgauction.gameservice.service.GamePurgeService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Hard-deletes soft-deleted games and their images with set-based deletes, one bounded batch per transaction,
+ * so a purge never locks more than one batch of rows. Scheduled by game.purge.cron for low-traffic hours;
+ * the job lock lets only one instance run each scheduled purge.
+ */
+@Log4j2
+@Service
+public class GamePurgeServiceImpl implements GamePurgeService {
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLock jobLock;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lockLease;
+
+    private static final String PURGE_JOB = "game-purge";
+
+    public GamePurgeServiceImpl(GameRepository gameRepository,
+                                TransactionTemplate transactionTemplate,
+                                JobLock jobLock,
+                                @Value("${game.purge.batch-size:500}") int batchSize,
+                                @Value("${game.purge.max-batches:1000}") int maxBatches,
+                                @Value("${game.purge.lock-seconds:3600}") long lockSeconds) {
+        this.gameRepository = gameRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLock = jobLock;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lockLease = Duration.ofSeconds(lockSeconds);
+    }
+
+    @Scheduled(cron = "${game.purge.cron:0 0 4 * * *}")
+    public void purgeOnSchedule() {
+        jobLock.runExclusively(PURGE_JOB, lockLease, () -> {
+            int purged = purgeDeletedGames();
+            if (purged > 0) {
+                log.info("Purged {} deleted games", purged);
+            }
+        });
+    }
+
+    @Override
+    public int purgeDeletedGames() {
+        int purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = gameRepository.findDeletedIds(Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                gameRepository.deleteImagesByGameIdIn(ids);
+                return gameRepository.deleteDeletedByIdIn(ids);
+            });
+            // zero also when another instance purged the same batch first
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+        }
+        return purged;
+    }
+}
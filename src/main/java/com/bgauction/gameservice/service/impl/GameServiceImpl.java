@@ -1,100 +1,405 @@
 package com.bgauction.gameservice.service.impl;
 
+import com.bgauction.gameservice.cache.GameCache;
 import com.bgauction.gameservice.exception.BadRequestException;
+import com.bgauction.gameservice.exception.ConflictException;
 import com.bgauction.gameservice.exception.NotFoundException;
+import com.bgauction.gameservice.exception.PreconditionFailedException;
+import com.bgauction.gameservice.model.dto.GameBrowsePage;
+import com.bgauction.gameservice.model.dto.GameCacheStatsDto;
+import com.bgauction.gameservice.model.dto.GameCursor;
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.dto.GamePage;
+import com.bgauction.gameservice.model.dto.GameStatusChangeResult;
 import com.bgauction.gameservice.model.entity.Game;
-import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameLanguage;
 import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.mapper.GameJsonEncoder;
+import com.bgauction.gameservice.model.mapper.GameRowMapper;
+import com.bgauction.gameservice.model.projection.GameRow;
+import com.bgauction.gameservice.model.projection.GameStatusView;
 import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.search.GameFacetIndex;
+import com.bgauction.gameservice.search.GameSearchIndex;
+import com.bgauction.gameservice.service.GameEventService;
 import com.bgauction.gameservice.service.GameService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
+@Timed("game.service")
 public class GameServiceImpl implements GameService {
 
     private final GameRepository gameRepository;
+    private final GameCache gameCache;
+    private final GameSearchIndex gameSearchIndex;
+    private final GameFacetIndex gameFacetIndex;
+    private final GameEventService gameEventService;
+    private final GameJsonEncoder gameJsonEncoder;
+    private final TransactionTemplate transactionTemplate;
     private static final String GAME_NOT_FOUND = "Game with id: %d is not found";
     private static final String GAME_CANT_BE_UPDATED = "Game with id: %d can't be updated because game status is not PUBLISHED";
+    private static final String GAME_VERSION_MISMATCH = "Game with id: %d has version %d, but version %d was expected";
+    private static final String ILLEGAL_STATUS_TRANSITION = "Game with id: %d can't change status from %s to %s";
+    private static final String STATUS_NOT_BROWSABLE = "Only PUBLISHED and IN_AUCTION games can be browsed";
+    private static final int DELETE_CHUNK_SIZE = 500;
+    private static final Set<GameStatus> BROWSABLE_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(GameStatus.PUBLISHED, GameStatus.IN_AUCTION));
 
+    // no surrounding transaction: cache fills read the primary, a lagging replica would cache stale games for everyone
     @Override
     public Game findGameById(Long id) {
-        Optional<Game> optional = gameRepository.findById(id);
+        Optional<Game> optional = gameCache.get(id, this::loadDetachedGameById);
         if (optional.isEmpty()) {
             throw new NotFoundException(String.format(GAME_NOT_FOUND, id));
         }
         return optional.get();
     }
 
+    // no surrounding transaction, so a hit never borrows a pooled connection
     @Override
-    public List<Game> findGameListByUserId(Long userId) {
-        return gameRepository.findAllByUserId(userId);
+    public GameJson findGameJsonById(Long id) {
+        Optional<GameJson> optional = gameCache.getJson(id, this::loadDetachedGameById, gameJsonEncoder::encode);
+        if (optional.isEmpty()) {
+            throw new NotFoundException(String.format(GAME_NOT_FOUND, id));
+        }
+        return optional.get();
+    }
+
+    private Optional<Game> loadDetachedGameById(Long id) {
+        return GameRowMapper.toGame(gameRepository.findDetailRowsById(id));
+    }
+
+    // plain lookup by id so the game and, once touched, its images come from the second-level cache when warm
+    private Game loadGameById(Long id) {
+        Optional<Game> optional = gameRepository.findById(id).filter(game -> !game.isDeleted());
+        if (optional.isEmpty()) {
+            throw new NotFoundException(String.format(GAME_NOT_FOUND, id));
+        }
+        return optional.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GameDto> findGameListByUserId(Long userId) {
+        return withImages(gameRepository.findFirstPageByUserId(userId, Limit.unlimited()));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public GamePage findGamePageByUserId(Long userId, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<GameRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = gameRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            GameCursor after = GameCursor.decode(cursor);
+            rows = gameRepository.findPageByUserIdAfter(userId, after.created(), after.id(), limit);
+        }
+        if (rows.size() <= size) {
+            return new GamePage(withImages(rows), null);
+        }
+        List<GameRow> page = rows.subList(0, size);
+        GameRow last = page.get(size - 1);
+        return new GamePage(withImages(page), new GameCursor(last.created(), last.id()).encode());
+    }
+
+    private List<GameDto> withImages(List<GameRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        return GameRowMapper.toDtos(rows, gameRepository.findImageRowsByGameIdIn(rows.stream().map(GameRow::id).toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Game> findGamesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return gameRepository.findAllWithImagesByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Game> searchGames(String query, int limit) {
+        return inRankOrder(gameSearchIndex.search(query, limit));
+    }
+
+    @Override
+    public List<String> autocompleteTitles(String prefix, int limit) {
+        return gameSearchIndex.autocomplete(prefix, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GameBrowsePage browseGames(Set<GameLanguage> languages, Integer players, Set<GameStatus> statuses,
+                                      String cursor, int size) {
+        Set<GameStatus> statusFilter = statuses.isEmpty() ? BROWSABLE_STATUSES : statuses;
+        if (!BROWSABLE_STATUSES.containsAll(statusFilter)) {
+            throw new BadRequestException(STATUS_NOT_BROWSABLE);
+        }
+        Long beforeId = cursor == null || cursor.isBlank() ? null : GameCursor.decodeId(cursor);
+        GameFacetIndex.Result result = gameFacetIndex.browse(
+                languages, players, statusFilter, BROWSABLE_STATUSES, beforeId, size);
+        String nextCursor = result.nextBeforeId() == null ? null : GameCursor.encodeId(result.nextBeforeId());
+        List<Game> games = inRankOrder(result.ids()).stream()
+                .filter(game -> matchesBrowseFilter(game, languages, players, statusFilter))
+                .toList();
+        return new GameBrowsePage(games, result.total(), result.languageCounts(), result.statusCounts(), nextCursor);
+    }
+
+    // the facet index trails changes made on other instances until the change feed catches up,
+    // so a loaded row that no longer matches the filter is left out of the page
+    private static boolean matchesBrowseFilter(Game game, Set<GameLanguage> languages, Integer players,
+                                               Set<GameStatus> statuses) {
+        return statuses.contains(game.getStatus())
+                && (languages.isEmpty() || languages.contains(game.getLanguage()))
+                && (players == null || game.getMinPlayers() <= players && players <= game.getMaxPlayers());
+    }
+
+    private void reindex(Game game) {
+        Long id = game.getId();
+        String title = game.getTitle();
+        String description = game.getDescription();
+        GameLanguage language = game.getLanguage();
+        GameStatus status = game.getStatus();
+        Integer minPlayers = game.getMinPlayers();
+        Integer maxPlayers = game.getMaxPlayers();
+        afterCommit(() -> {
+            gameSearchIndex.index(id, title, description);
+            gameFacetIndex.index(id, language, status, minPlayers, maxPlayers);
+        });
+    }
+
+    private void unindex(Long id) {
+        gameSearchIndex.remove(id);
+        gameFacetIndex.remove(id);
+    }
+
+    // The in-memory indexes are shared by all requests, so they only see a change once it is committed:
+    // a rolled back write would otherwise stay searchable, and a reader could find an id it can't load yet.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // The indexes follow commits on the primary, so a lagging replica may not have the newest ids yet:
+    // those are read from the primary instead of being dropped. Ids missing there too were deleted meanwhile.
+    private List<Game> inRankOrder(List<Long> ids) {
+        Map<Long, Game> games = findGamesByIds(ids).stream()
+                .collect(Collectors.toMap(Game::getId, Function.identity()));
+        List<Long> missingIds = ids.stream().filter(id -> !games.containsKey(id)).toList();
+        if (!missingIds.isEmpty()) {
+            gameRepository.findAllWithImagesOnPrimaryByIdIn(missingIds).forEach(game -> games.put(game.getId(), game));
+        }
+        return ids.stream().map(games::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional
     public Game saveGame(Game game) {
         game.setStatus(GameStatus.PUBLISHED);
+        game.setVersion(null);
         if (!game.getImages().isEmpty()) {
             game.getImages().forEach(i -> i.setGame(game));
         }
-        return gameRepository.save(game);
+        Game savedGame = gameRepository.save(game);
+        gameEventService.recordEvent(savedGame.getId(), GameEventType.CREATED, savedGame.getStatus());
+        gameCache.invalidate(savedGame.getId());
+        reindex(savedGame);
+        return savedGame;
     }
 
     @Override
+    @Transactional
     public void updateGame(Game game) {
-        Game existingGame = findGameById(game.getId());
+        Game existingGame = loadGameById(game.getId());
         if (existingGame.getStatus() != GameStatus.PUBLISHED) {
             throw new BadRequestException(String.format(GAME_CANT_BE_UPDATED, game.getId()));
         }
-        game.setStatus(existingGame.getStatus());
-        updateGameImages(existingGame, game);
-        gameRepository.save(game);
+        if (game.getVersion() != null && !game.getVersion().equals(existingGame.getVersion())) {
+            throw new PreconditionFailedException(
+                    String.format(GAME_VERSION_MISMATCH, game.getId(), existingGame.getVersion(), game.getVersion()));
+        }
+        boolean fieldsChanged = !hasSameFields(existingGame, game);
+        existingGame.setTitle(game.getTitle());
+        existingGame.setDescription(game.getDescription());
+        existingGame.setCondition(game.getCondition());
+        existingGame.setLanguage(game.getLanguage());
+        existingGame.setMinPlayers(game.getMinPlayers());
+        existingGame.setMaxPlayers(game.getMaxPlayers());
+        GameImageDiff.Result imageChanges =
+                GameImageDiff.apply(existingGame, game.getImages() == null ? List.of() : game.getImages());
+        // a resubmitted unchanged game writes nothing: no version bump, no event, cache and indexes stay valid
+        if (!fieldsChanged && imageChanges.isEmpty()) {
+            return;
+        }
+        gameRepository.save(existingGame);
+        gameEventService.recordEvent(existingGame.getId(), GameEventType.UPDATED, existingGame.getStatus());
+        gameCache.invalidate(existingGame.getId());
+        reindex(existingGame);
     }
 
-    private void updateGameImages(Game existingGame, Game newGame) {
-        List<GameImage> newImages = newGame.getImages();
-        List<GameImage> oldImages = existingGame.getImages();
-
-        oldImages.removeIf(existingImage ->
-                newImages.stream().noneMatch(newImage -> newImage.getUrl() != null && newImage.getUrl().equals(existingImage.getUrl())));
-
-        newImages.removeIf(newImage ->
-                oldImages.stream().allMatch(oldImage -> oldImage.getUrl() != null && oldImage.getUrl().equals(newImage.getUrl())));
-
-        newImages.addAll(oldImages);
-        newImages.forEach(i -> i.setGame(newGame));
+    private static boolean hasSameFields(Game existing, Game submitted) {
+        return Objects.equals(existing.getTitle(), submitted.getTitle())
+                && Objects.equals(existing.getDescription(), submitted.getDescription())
+                && Objects.equals(existing.getCondition(), submitted.getCondition())
+                && existing.getLanguage() == submitted.getLanguage()
+                && Objects.equals(existing.getMinPlayers(), submitted.getMinPlayers())
+                && Objects.equals(existing.getMaxPlayers(), submitted.getMaxPlayers());
     }
 
     @Override
+    @Transactional
     public void setStatusToInAuctionForGameWithId(Long id) {
         changeGameStatus(id, GameStatus.IN_AUCTION);
     }
 
     @Override
+    @Transactional
     public void setStatusToSoldForGameWithId(Long id) {
         changeGameStatus(id, GameStatus.SOLD);
     }
 
     @Override
+    @Transactional
     public void setStatusToPublishedForGameWithId(Long id) {
         changeGameStatus(id, GameStatus.PUBLISHED);
     }
 
+    @Override
+    @Transactional
+    public Map<Long, GameStatusChangeResult> changeGameStatuses(Collection<Long> ids, GameStatus status) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        // the rows stay locked until commit, so the statuses read here are the ones the update sees
+        Map<Long, GameStatus> statuses = gameRepository.findAllForUpdateByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(Game::getId, Game::getStatus));
+
+        Map<Long, GameStatusChangeResult> results = new LinkedHashMap<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            GameStatus current = statuses.get(id);
+            if (current == null) {
+                results.put(id, GameStatusChangeResult.NOT_FOUND);
+            } else if (current == status) {
+                results.put(id, GameStatusChangeResult.UNCHANGED);
+            } else if (status.allowedPredecessors().contains(current)) {
+                results.put(id, GameStatusChangeResult.UPDATED);
+                updatedIds.add(id);
+            } else {
+                results.put(id, GameStatusChangeResult.ILLEGAL_TRANSITION);
+            }
+        }
+        if (updatedIds.isEmpty()) {
+            return results;
+        }
+        gameRepository.updateStatusByIdIn(updatedIds, status, status.allowedPredecessors());
+        gameEventService.recordEvents(updatedIds, GameEventType.STATUS_CHANGED, status);
+        updatedIds.forEach(gameCache::invalidate);
+        afterCommit(() -> updatedIds.forEach(id -> gameFacetIndex.updateStatus(id, status)));
+        return results;
+    }
+
     private void changeGameStatus(Long id, GameStatus status) {
-            Game game = findGameById(id);
-            game.setStatus(status);
-            gameRepository.save(game);
+        if (gameRepository.updateStatusById(id, status, status.allowedPredecessors()) == 1) {
+            gameEventService.recordEvent(id, GameEventType.STATUS_CHANGED, status);
+            gameCache.invalidate(id);
+            afterCommit(() -> gameFacetIndex.updateStatus(id, status));
+            return;
+        }
+        List<GameStatusView> current = gameRepository.findStatusesByIdIn(List.of(id));
+        if (current.isEmpty()) {
+            throw new NotFoundException(String.format(GAME_NOT_FOUND, id));
+        }
+        // already in the target status: nothing changed, so no version bump and no event, as in changeGameStatuses
+        if (current.get(0).getStatus() == status) {
+            return;
+        }
+        throw new ConflictException(String.format(ILLEGAL_STATUS_TRANSITION, id, current.get(0).getStatus(), status));
     }
 
     @Override
+    @Transactional
     public void deleteGameById(Long id) {
-        if (!gameRepository.existsById(id)) {
+        if (gameRepository.softDeleteById(id) == 0) {
             throw new NotFoundException(String.format(GAME_NOT_FOUND, id));
         }
-        gameRepository.deleteById(id);
+        gameEventService.recordEvent(id, GameEventType.DELETED, null);
+        gameCache.invalidate(id);
+        afterCommit(() -> unindex(id));
+    }
+
+    // One transaction per chunk: a user with many games never holds all their row locks at once or sends an
+    // unbounded id list. Chunks already committed stay deleted if a later one fails, and a retry picks up the rest.
+    @Override
+    public List<Long> deleteGamesByUserId(Long userId) {
+        List<Long> deletedIds = new ArrayList<>();
+        List<Long> chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> deleteChunkOfUser(userId));
+            deletedIds.addAll(chunk);
+        } while (chunk.size() == DELETE_CHUNK_SIZE);
+        return deletedIds;
+    }
+
+    private List<Long> deleteChunkOfUser(Long userId) {
+        List<Long> ids = gameRepository.findActiveForUpdateByUserId(userId, Limit.of(DELETE_CHUNK_SIZE)).stream()
+                .map(Game::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        gameRepository.softDeleteByUserIdAndIdIn(userId, ids);
+        gameEventService.recordEvents(ids, GameEventType.DELETED, null);
+        ids.forEach(gameCache::invalidate);
+        afterCommit(() -> ids.forEach(this::unindex));
+        return ids;
+    }
+
+    @Override
+    public GameCacheStatsDto getGameCacheStats() {
+        CacheStats stats = gameCache.stats();
+        return GameCacheStatsDto.builder()
+                .size(gameCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .missingSize(gameCache.missingSize())
+                .missingHitCount(gameCache.missingStats().hitCount())
+                .build();
     }
 }
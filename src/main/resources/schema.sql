@@ -1,5 +1,17 @@
+DROP TABLE IF EXISTS game_events;
+DROP TABLE IF EXISTS game_event_sequence;
 DROP TABLE IF EXISTS game_images;
 DROP TABLE IF EXISTS games;
+DROP TABLE IF EXISTS id_generator;
+DROP TABLE IF EXISTS job_locks;
+
+CREATE TABLE IF NOT EXISTS id_generator (
+    name VARCHAR(64) NOT NULL,
+    next_val BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generator (name, next_val) VALUES ('games', 1000), ('game_images', 1000);
 
 CREATE TABLE IF NOT EXISTS games (
     id BIGINT AUTO_INCREMENT,
@@ -12,6 +24,8 @@ CREATE TABLE IF NOT EXISTS games (
     max_players INT NOT NULL,
     status VARCHAR(20) NOT NULL,
     created TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
     PRIMARY KEY (id)
 );
 
@@ -23,3 +37,33 @@ CREATE TABLE IF NOT EXISTS game_images (
     CONSTRAINT fk_game
     FOREIGN KEY (game_id) REFERENCES games(id)
 );
+
+CREATE TABLE IF NOT EXISTS game_events (
+    id BIGINT NOT NULL,
+    game_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20),
+    created TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS game_event_sequence (
+    name VARCHAR(64) NOT NULL,
+    last_val BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO game_event_sequence (name, last_val) VALUES ('game_events', 0);
+
+CREATE TABLE IF NOT EXISTS job_locks (
+    name VARCHAR(64) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL,
+    locked_by VARCHAR(64) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+CREATE INDEX idx_games_user_created ON games (user_id, created);
+CREATE INDEX idx_games_status_created ON games (status, created);
+CREATE INDEX idx_games_deleted ON games (deleted);
+CREATE INDEX idx_game_images_game_id ON game_images (game_id);
+CREATE INDEX idx_game_events_created ON game_events (created);
@@ -0,0 +1,115 @@
+package com.bgauction.gameservice.cache;
+
+import com.bgauction.gameservice.model.dto.GameEventDto;
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameEventService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bgauction.gameservice.util.TestUtil.generateExistingImageListForExistingGame;
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameCacheEvictionListenerTest {
+
+    @Mock
+    private GameEventService gameEventService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    private GameCache gameCache;
+    private GameCacheEvictionListener listener;
+    private Game game;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        gameCache = new GameCache(100, 300, 1000, 10, 60);
+        listener = new GameCacheEvictionListener(gameEventService, gameCache, entityManagerFactory, 2);
+        game = generateGame(1L, 1L, GameStatus.PUBLISHED, generateExistingImageListForExistingGame());
+    }
+
+    @Test
+    @DisplayName("Games named in the change feed are evicted, starting at the end of the feed")
+    void evictsGamesFromFeed() {
+        stubSecondLevelCache();
+        when(gameEventService.latestOffset()).thenReturn(10L);
+        when(gameEventService.readEvents(10L, 2, Duration.ZERO)).thenReturn(new GameEventPageDto(
+                List.of(event(11L, 1L), event(12L, 2L)), 12L));
+        when(gameEventService.readEvents(12L, 2, Duration.ZERO)).thenReturn(new GameEventPageDto(
+                List.of(event(13L, 3L)), 13L));
+
+        listener.poll();
+        load();
+        load();
+        assertThat(loads).hasValue(1);
+
+        listener.poll();
+        load();
+        assertThat(loads).hasValue(2);
+        verify(gameEventService, times(1)).readEvents(12L, 2, Duration.ZERO);
+        verify(secondLevelCache, times(1)).evictEntityData(Game.class, 2L);
+        verify(secondLevelCache, times(1)).evictCollectionData(Game.class.getName() + ".images", 3L);
+    }
+
+    @Test
+    @DisplayName("A failed read is retried from the same offset")
+    void retriesAfterFailure() {
+        stubSecondLevelCache();
+        when(gameEventService.latestOffset()).thenReturn(10L);
+        when(gameEventService.readEvents(10L, 2, Duration.ZERO))
+                .thenThrow(new IllegalStateException("replica down"))
+                .thenReturn(new GameEventPageDto(List.of(event(11L, 1L)), 11L));
+
+        listener.poll();
+        load();
+        listener.poll();
+        listener.poll();
+        load();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private void stubSecondLevelCache() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+    }
+
+    private void load() {
+        gameCache.get(game.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.of(game);
+        });
+    }
+
+    private static GameEventDto event(Long offset, Long gameId) {
+        return new GameEventDto(offset, gameId, GameEventType.UPDATED, GameStatus.PUBLISHED, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,277 @@
+package com.bgauction.gameservice.cache;
+
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bgauction.gameservice.util.TestUtil.generateExistingImageListForExistingGame;
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameCacheTest {
+
+    private GameCache gameCache;
+    private Game game;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        gameCache = new GameCache(2, 60, 1000, 10, 60);
+        game = generateGame(1L, 1L, GameStatus.PUBLISHED, generateExistingImageListForExistingGame());
+    }
+
+    @Test
+    @DisplayName("Returns copies that can't change cached state")
+    void returnsIndependentCopies() {
+        Game first = gameCache.get(1L, this::load).orElseThrow();
+        first.setTitle("changed");
+        first.getImages().clear();
+
+        Game second = gameCache.get(1L, this::load).orElseThrow();
+        assertThat(second.getTitle()).isEqualTo(game.getTitle());
+        assertThat(second.getImages()).hasSize(2);
+        assertThat(second.getImages().get(0).getGame()).isSameAs(second);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Missing games are remembered until the id is invalidated")
+    void missingGamesAreRemembered() {
+        assertThat(gameCache.get(2L, id -> { loads.incrementAndGet(); return Optional.empty(); })).isEmpty();
+        assertThat(gameCache.get(2L, id -> { loads.incrementAndGet(); return Optional.empty(); })).isEmpty();
+        assertThat(gameCache.getJson(2L, id -> { loads.incrementAndGet(); return Optional.empty(); },
+                g -> encode(g, new AtomicInteger()))).isEmpty();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(gameCache.size()).isZero();
+        assertThat(gameCache.missingSize()).isEqualTo(1);
+        assertThat(gameCache.missingStats().hitCount()).isEqualTo(2);
+
+        gameCache.invalidate(2L);
+        assertThat(gameCache.get(2L, this::load)).isPresent();
+        assertThat(gameCache.missingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("A miss that raced with an invalidation is not remembered")
+    void invalidationDuringMissingLoad() {
+        Optional<Game> loaded = gameCache.get(2L, id -> {
+            gameCache.invalidate(id);
+            return Optional.empty();
+        });
+
+        assertThat(loaded).isEmpty();
+        assertThat(gameCache.missingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Invalidate forces reload and stats are recorded")
+    void invalidateForcesReload() {
+        gameCache.get(1L, this::load);
+        gameCache.get(1L, this::load);
+        gameCache.invalidate(1L);
+        gameCache.get(1L, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(gameCache.stats().hitCount()).isEqualTo(1);
+        assertThat(gameCache.stats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Loads run outside cache locks and an invalidation during a load is not overwritten")
+    void invalidationDuringLoad() {
+        Optional<Game> loaded = gameCache.get(1L, id -> {
+            gameCache.invalidate(id);
+            return load(id);
+        });
+
+        assertThat(loaded).isPresent();
+        assertThat(gameCache.size()).isZero();
+        gameCache.get(1L, this::load);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for the same id share one load")
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Game>> first = executor.submit(() -> gameCache.get(1L, id -> {
+                loading.countDown();
+                await(release);
+                return load(id);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<Game>> second = executor.submit(() -> gameCache.get(1L, this::load));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A load failure reaches every waiter and the next miss retries")
+    void loadFailurePropagatesToWaiters() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Game>> first = executor.submit(() -> gameCache.get(1L, id -> {
+                loading.countDown();
+                await(release);
+                throw new TransientDataAccessResourceException("connection lost");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<Game>> second = executor.submit(() -> gameCache.get(1L, this::load));
+            awaitCoalesced(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(TransientDataAccessResourceException.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(TransientDataAccessResourceException.class);
+            assertThat(loads.get()).isZero();
+
+            assertThat(gameCache.get(1L, this::load)).isPresent();
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A waiter gives up after the load timeout while the load goes on")
+    void waiterTimesOut() throws Exception {
+        GameCache cache = new GameCache(2, 60, 50, 10, 60);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Game>> first = executor.submit(() -> cache.get(1L, id -> {
+                loading.countDown();
+                await(release);
+                return load(id);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> cache.get(1L, this::load)).isInstanceOf(QueryTimeoutException.class);
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            assertThat(cache.get(1L, this::load)).isPresent();
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent JSON misses for the same id share one load and one encoding")
+    void concurrentJsonMissesShareOneEncoding() throws Exception {
+        int readers = 8;
+        AtomicInteger encodes = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<Optional<GameJson>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> gameCache.getJson(1L, id -> {
+                loading.countDown();
+                await(release);
+                return load(id);
+            }, g -> encode(g, encodes))));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < readers; i++) {
+                results.add(executor.submit(() -> gameCache.getJson(1L, this::load, g -> encode(g, encodes))));
+            }
+            awaitCoalesced(readers - 1);
+            release.countDown();
+
+            GameJson first = results.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+            for (Future<Optional<GameJson>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).containsSame(first);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(encodes.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Encoded JSON is reused until the game is invalidated")
+    void jsonIsCachedUntilInvalidated() {
+        AtomicInteger encodes = new AtomicInteger();
+        GameJson first = gameCache.getJson(1L, this::load, g -> encode(g, encodes)).orElseThrow();
+        GameJson second = gameCache.getJson(1L, this::load, g -> encode(g, encodes)).orElseThrow();
+        assertThat(second).isSameAs(first);
+        assertThat(encodes.get()).isEqualTo(1);
+
+        gameCache.invalidate(1L);
+        gameCache.getJson(1L, this::load, g -> encode(g, encodes));
+        assertThat(encodes.get()).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JSON encoded from a snapshot invalidated meanwhile is not cached")
+    void staleJsonIsNotCached() {
+        AtomicInteger encodes = new AtomicInteger();
+        gameCache.getJson(1L, this::load, g -> {
+            gameCache.invalidate(1L);
+            return encode(g, encodes);
+        });
+        gameCache.getJson(1L, this::load, g -> encode(g, encodes));
+
+        assertThat(encodes.get()).isEqualTo(2);
+        assertThat(gameCache.getJson(1L, this::load, g -> encode(g, encodes))).isPresent();
+        assertThat(encodes.get()).isEqualTo(2);
+    }
+
+    private static GameJson encode(Game game, AtomicInteger encodes) {
+        encodes.incrementAndGet();
+        return new GameJson(game.getVersion(), game.getTitle().getBytes(), null);
+    }
+
+    private void awaitCoalesced(long waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameCache.coalescedCount() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(gameCache.coalescedCount()).isEqualTo(waiters);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<Game> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(game);
+    }
+}
@@ -3,21 +3,30 @@ package com.bgauction.gameservice.controller;
 import com.bgauction.gameservice.exception.BadRequestException;
 import com.bgauction.gameservice.exception.NotFoundException;
 import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.dto.GamePage;
 import com.bgauction.gameservice.model.entity.Game;
 import com.bgauction.gameservice.model.entity.GameStatus;
 import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.model.mapper.GameJsonEncoder;
 import com.bgauction.gameservice.model.mapper.GameMapperImpl;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameExportService;
+import com.bgauction.gameservice.service.GameImportService;
 import com.bgauction.gameservice.service.GameService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.core.MediaType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -29,6 +38,9 @@ import static com.bgauction.gameservice.util.TestUtil.generateGameDto;
 import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGameDto;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,6 +49,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,6 +67,15 @@ class GameControllerTest {
     @MockBean
     private GameService gameService;
 
+    @MockBean
+    private GameImportService gameImportService;
+
+    @MockBean
+    private GameExportService gameExportService;
+
+    @MockBean
+    private GameEventService gameEventService;
+
     @Autowired
     private GameMapper gameMapper;
 
@@ -78,7 +101,7 @@ class GameControllerTest {
     @Test
     @DisplayName("Get game by id - successfully")
     void getGameByIdShouldReturnGame() throws Exception {
-        when(gameService.findGameById(gameId)).thenReturn(existingGame);
+        when(gameService.findGameJsonById(gameId)).thenReturn(gameJson(existingGame));
 
         mockMvc.perform(get("/game/{id}", gameId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -94,17 +117,37 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.userId").value(userId));
     }
 
+    @Test
+    @DisplayName("Get game by id - gzip body when the client accepts it")
+    void getGameByIdShouldReturnGzipBody() throws Exception {
+        GameJson gameJson = gameJson(existingGame);
+        when(gameService.findGameJsonById(gameId)).thenReturn(gameJson);
+
+        mockMvc.perform(get("/game/{id}", gameId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(gameJson.gzip()));
+        mockMvc.perform(get("/game/{id}", gameId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(gameJson.json()));
+    }
+
     @Test
     @DisplayName("Get game by id - when service throws NotFoundException")
     void getGameByIdWhenServiceThrowsNotFoundException() throws Exception {
-        when(gameService.findGameById(gameId))
+        when(gameService.findGameJsonById(gameId))
                 .thenThrow(new NotFoundException("Game with id: 1 is not found"));
         mockMvc.perform(get("/game/{id}", gameId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-Service-Key", serviceInternalKey))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$").value("Game with id: 1 is not found"));
-        verify(gameService, times(1)).findGameById(gameId);
+        verify(gameService, times(1)).findGameJsonById(gameId);
     }
 
     @Test
@@ -115,7 +158,7 @@ class GameControllerTest {
                 )
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$").value("Missing or invalid required header: X-User-Id"));
-        verify(gameService, times(0)).findGameById(any(Long.class));
+        verify(gameService, times(0)).findGameJsonById(any(Long.class));
     }
 
     @Test
@@ -126,7 +169,7 @@ class GameControllerTest {
                         .header("X-Service-Key", "invalid-key"))
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$").value("Missing or invalid required header: X-User-Id"));
-        verify(gameService, times(0)).findGameById(any(Long.class));
+        verify(gameService, times(0)).findGameJsonById(any(Long.class));
     }
 
     @Test
@@ -142,13 +185,13 @@ class GameControllerTest {
                         .header("X-Service-Key", serviceInternalKey))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$").value("Game id: 0 must be greater then 0"));
-        verify(gameService, times(0)).findGameById(any(Long.class));
+        verify(gameService, times(0)).findGameJsonById(any(Long.class));
     }
 
     @Test
     @DisplayName("Get game list by user id - successfully")
     void getGamesByValidUserId() throws Exception {
-        when(gameService.findGameListByUserId(userId)).thenReturn(List.of(existingGame));
+        when(gameService.findGamePageByUserId(userId, null, 50)).thenReturn(new GamePage(List.of(existingGameDto), null));
 
         mockMvc.perform(get("/game/user/{userId}", userId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -156,9 +199,101 @@ class GameControllerTest {
                         .header("X-User-Id", userId)
                 )
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$.[0].title").value(existingGame.getTitle()));
-        verify(gameService, times(1)).findGameListByUserId(userId);
+        verify(gameService, times(1)).findGamePageByUserId(userId, null, 50);
+        verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("Get game list by user id - default page size with a cursor")
+    void getGamesByUserIdWithDefaultPageSize() throws Exception {
+        when(gameService.findGamePageByUserId(userId, "abc", 50)).thenReturn(new GamePage(List.of(existingGameDto), null));
+
+        mockMvc.perform(get("/game/user/{userId}", userId)
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1));
+        verify(gameService, times(1)).findGamePageByUserId(userId, "abc", 50);
+        verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "game.page.unpaged-full-list=true")
+    class UnpagedFullList {
+
+        @Test
+        @DisplayName("Get game list by user id - whole list when opted in and no paging parameters are sent")
+        void getGamesByUserIdUnpaged() throws Exception {
+            when(gameService.findGameListByUserId(userId)).thenReturn(List.of(existingGameDto));
+
+            mockMvc.perform(get("/game/user/{userId}", userId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-Service-Key", serviceInternalKey)
+                            .header("X-User-Id", userId)
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("X-Next-Cursor"))
+                    .andExpect(jsonPath("$.length()").value(1));
+            verify(gameService, times(1)).findGameListByUserId(userId);
+            verify(gameService, times(0)).findGamePageByUserId(any(Long.class), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Get game list by user id - page size still applies when opted in and a size is sent")
+        void getGamesByUserIdUnpagedWithSize() throws Exception {
+            when(gameService.findGamePageByUserId(userId, null, 2)).thenReturn(new GamePage(List.of(existingGameDto), null));
+
+            mockMvc.perform(get("/game/user/{userId}", userId)
+                            .param("size", "2")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-Service-Key", serviceInternalKey)
+                            .header("X-User-Id", userId)
+                    )
+                    .andExpect(status().isOk());
+            verify(gameService, times(1)).findGamePageByUserId(userId, null, 2);
+            verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Get game list by user id - next page cursor and capped page size")
+    void getGamesByUserIdWithCursor() throws Exception {
+        when(gameService.findGamePageByUserId(eq(userId), eq("abc"), anyInt()))
+                .thenReturn(new GamePage(List.of(existingGameDto), "next"));
+
+        mockMvc.perform(get("/game/user/{userId}", userId)
+                        .param("cursor", "abc")
+                        .param("size", "100000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.length()").value(1));
+        verify(gameService, times(1)).findGamePageByUserId(userId, "abc", 200);
+    }
+
+    @Test
+    @DisplayName("Get game list by user id - invalid page size")
+    void getGamesByUserIdWithInvalidPageSize() throws Exception {
+        mockMvc.perform(get("/game/user/{userId}", userId)
+                        .param("size", "0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId)
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("Page size: 0 must be greater then 0"));
+        verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        verify(gameService, times(0)).findGamePageByUserId(any(Long.class), isNull(), anyInt());
     }
 
     @Test
@@ -173,6 +308,7 @@ class GameControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$").value("User id: 0 must be greater then 0"));
         verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        verify(gameService, times(0)).findGamePageByUserId(any(Long.class), isNull(), anyInt());
     }
 
     @Test
@@ -186,6 +322,7 @@ class GameControllerTest {
                 )
                 .andExpect(status().isForbidden());
         verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        verify(gameService, times(0)).findGamePageByUserId(any(Long.class), isNull(), anyInt());
     }
 
     @Test
@@ -198,6 +335,7 @@ class GameControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$").value("Missing required header: X-User-Id"));
         verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        verify(gameService, times(0)).findGamePageByUserId(any(Long.class), isNull(), anyInt());
     }
 
     @Test
@@ -210,6 +348,44 @@ class GameControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$").value("Missing or invalid required header: X-User-Id"));
         verify(gameService, times(0)).findGameListByUserId(any(Long.class));
+        verify(gameService, times(0)).findGamePageByUserId(any(Long.class), isNull(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Get games by ids - in request order with missing ids")
+    void getGamesByIds() throws Exception {
+        Game secondGame = generateGame(2L, userId, GameStatus.PUBLISHED, generateExistingImageListForExistingGame());
+        when(gameService.findGamesByIds(any())).thenReturn(List.of(existingGame, secondGame));
+
+        mockMvc.perform(post("/internal/game/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(2L, 7L, 1L, 2L)))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games.length()").value(2))
+                .andExpect(jsonPath("$.games[0].id").value(2))
+                .andExpect(jsonPath("$.games[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds.length()").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(7));
+        verify(gameService, times(1)).findGamesByIds(any());
+    }
+
+    @Test
+    @DisplayName("Get games by ids - with invalid ids")
+    void getGamesByInvalidIds() throws Exception {
+        mockMvc.perform(post("/internal/game/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 0L)))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("All game ids must be greater then 0"));
+        mockMvc.perform(post("/internal/game/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("Game id list must not be empty"));
+        verify(gameService, times(0)).findGamesByIds(any());
     }
 
     @Test
@@ -481,4 +657,30 @@ class GameControllerTest {
                 .andExpect(status().isNoContent());
         verify(gameService, times(1)).deleteGameById(gameId);
     }
+
+    @Test
+    @DisplayName("Delete games of user - successfully")
+    void deleteGamesByUserId() throws Exception {
+        when(gameService.deleteGamesByUserId(userId)).thenReturn(List.of(1L, 2L));
+        mockMvc.perform(delete("/internal/game/user/{userId}", userId)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value(1))
+                .andExpect(jsonPath("$[1]").value(2));
+        verify(gameService, times(1)).deleteGamesByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Delete games of user - user id is invalid")
+    void deleteGamesByInvalidUserId() throws Exception {
+        mockMvc.perform(delete("/internal/game/user/{userId}", 0)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("User id: 0 must be greater then 0"));
+        verify(gameService, times(0)).deleteGamesByUserId(any(Long.class));
+    }
+
+    private GameJson gameJson(Game game) {
+        return new GameJsonEncoder(gameMapper, objectMapper, true).encode(game);
+    }
 }
@@ -0,0 +1,121 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires the same concurrent load at GET /game/user/{userId} under one request thread model, once for each pool
+ * size in {@link #POOL_SIZES}, and reports throughput and latency percentiles to {@link ThreadModelLoadTests}.
+ */
+abstract class AbstractThreadModelLoadTests {
+
+    private static final Logger log = LogManager.getLogger(AbstractThreadModelLoadTests.class);
+    private static final int CONCURRENCY = 800;
+    private static final int REQUESTS = 20_000;
+    private static final long USER_ID = 60001L;
+    // the pool as configured, and a pool larger than Tomcat's 200 platform request threads
+    static final List<Integer> POOL_SIZES = List.of(20, 400);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    abstract String threadModel();
+
+    @Test
+    void userPageUnderLoad() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            gameService.saveGame(generateGame(null, USER_ID, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/game/user/" + USER_ID))
+                .header("X-Service-Key", serviceInternalKey)
+                .header("X-User-Id", String.valueOf(USER_ID))
+                .GET()
+                .build();
+        for (int poolSize : POOL_SIZES) {
+            dataSource.unwrap(HikariDataSource.class).getHikariConfigMXBean().setMaximumPoolSize(poolSize);
+            run(client, request, CONCURRENCY);
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+            long start = System.nanoTime();
+            int failures = run(client, request, REQUESTS, latencies);
+            long elapsed = System.nanoTime() - start;
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            ThreadModelLoadTests.LoadResult result = new ThreadModelLoadTests.LoadResult(
+                    threadModel(),
+                    poolSize,
+                    REQUESTS * 1_000_000_000L / elapsed,
+                    sorted.get(sorted.size() / 2) / 1_000_000,
+                    sorted.get(sorted.size() * 99 / 100) / 1_000_000,
+                    failures);
+            log.info("{} threads, pool {}: {} req/s, p50 {} ms, p99 {} ms, failures {}", result.threadModel(),
+                    poolSize, result.requestsPerSecond(), result.p50Ms(), result.p99Ms(), failures);
+            ThreadModelLoadTests.record(result);
+            assertThat(failures).isZero();
+        }
+    }
+
+    private int run(HttpClient client, HttpRequest request, int requests) throws Exception {
+        return run(client, request, requests, Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    private int run(HttpClient client, HttpRequest request, int requests, List<Long> latencies) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<Integer>> results = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    long sent = System.nanoTime();
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies.add(System.nanoTime() - sent);
+                    return status;
+                }));
+            }
+            int failures = 0;
+            for (Future<Integer> result : results) {
+                if (result.get(60, TimeUnit.SECONDS) != 200) {
+                    failures++;
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
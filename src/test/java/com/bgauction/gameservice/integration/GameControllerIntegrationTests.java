@@ -1,10 +1,16 @@
 package com.bgauction.gameservice.integration;
 
 import com.bgauction.gameservice.exception.NotFoundException;
+import com.bgauction.gameservice.model.dto.GameBatchDto;
+import com.bgauction.gameservice.model.dto.GameBrowseDto;
 import com.bgauction.gameservice.model.dto.GameDto;
 import com.bgauction.gameservice.model.dto.GameImageDto;
+import com.bgauction.gameservice.model.dto.GameImportResultDto;
+import com.bgauction.gameservice.model.dto.GameStatusChangeDto;
+import com.bgauction.gameservice.model.dto.GameStatusChangeResult;
 import com.bgauction.gameservice.model.entity.Game;
 import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.entity.GameLanguage;
 import com.bgauction.gameservice.model.entity.GameStatus;
 import com.bgauction.gameservice.model.mapper.GameMapper;
 import com.bgauction.gameservice.repository.GameRepository;
@@ -23,7 +29,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static com.bgauction.gameservice.util.TestUtil.generateGame;
 import static com.bgauction.gameservice.util.TestUtil.generateGameDto;
@@ -35,9 +44,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
 @ActiveProfiles("test")
@@ -76,6 +87,90 @@ class GameControllerIntegrationTests {
         assertThat(game).isEqualTo(savedGameDto);
     }
 
+    @Test
+    @DisplayName("Get game by id - ETag revalidation")
+    void getGameByIdWithETag() throws Exception {
+        GameDto savedGameDto = saveGameDto();
+        String eTag = "\"" + savedGameDto.getVersion() + "\"";
+
+        mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag));
+        mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Get game by id - pre-compressed gzip body")
+    void getGameByIdGzip() throws Exception {
+        GameDto savedGameDto = saveGameDto();
+
+        byte[] plain = mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] compressed = mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .header("Accept-Encoding", "gzip")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"" + savedGameDto.getVersion() + "-gzip\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"" + savedGameDto.getVersion() + "-gzip\"")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/game/{id}", savedGameDto.getId())
+                        .header("If-None-Match", "\"" + savedGameDto.getVersion() + "-gzip\"")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + savedGameDto.getVersion() + "\""));
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(plain);
+        }
+        assertThat(objectMapper.readValue(plain, GameDto.class)).isEqualTo(savedGameDto);
+    }
+
+    @Test
+    @DisplayName("Update game - with stale If-Match")
+    void updateGameWithStaleIfMatch() throws Exception {
+        GameDto savedGameDto = saveGameDto();
+        savedGameDto.setTitle("new title");
+
+        mockMvc.perform(put("/game/{id}", savedGameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(savedGameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", savedGameDto.getUserId())
+                        .header("If-Match", "\"" + (savedGameDto.getVersion() + 1) + "\""))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(gameService.findGameById(savedGameDto.getId()).getTitle()).isNotEqualTo("new title");
+    }
+
+    @Test
+    @DisplayName("Update game - If-Match with the ETag of the gzip body")
+    void updateGameWithGzipIfMatch() throws Exception {
+        GameDto savedGameDto = saveGameDto();
+        savedGameDto.setTitle("new title");
+
+        mockMvc.perform(put("/game/{id}", savedGameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(savedGameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", savedGameDto.getUserId())
+                        .header("If-Match", "\"" + savedGameDto.getVersion() + "-gzip\""))
+                .andExpect(status().isNoContent());
+        assertThat(gameService.findGameById(savedGameDto.getId()).getTitle()).isEqualTo("new title");
+    }
+
     @Test
     @DisplayName("Get game list by user id")
     void getGamesByUserId() throws Exception {
@@ -94,6 +189,94 @@ class GameControllerIntegrationTests {
         assertThat(games.get(0)).isEqualTo(savedGameDto);
     }
 
+    @Test
+    @DisplayName("Get games by ids")
+    void getGamesByIds() throws Exception {
+        GameDto first = saveGameDto();
+        GameDto second = saveGameDto();
+        Long missingId = second.getId() + 1000;
+
+        MvcResult result = mockMvc.perform(post("/internal/game/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(second.getId(), missingId, first.getId())))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameBatchDto batch = objectMapper.readValue(result.getResponse().getContentAsString(), GameBatchDto.class);
+        assertThat(batch.getGames()).containsExactly(second, first);
+        assertThat(batch.getMissingIds()).containsExactly(missingId);
+    }
+
+    @Test
+    @DisplayName("Search games and autocomplete titles")
+    void searchGames() throws Exception {
+        Game game = generateGame(null, 10000L, GameStatus.PUBLISHED, generateNewImageListForNewGame());
+        game.setTitle("Twilight Imperium");
+        game.setDescription("Galactic conquest for up to six players");
+        Long gameId = gameService.saveGame(game).getId();
+
+        MvcResult result = mockMvc.perform(get("/game/search")
+                        .param("q", "galactic IMPERIUM")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<GameDto> games = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<GameDto>>() {});
+        assertThat(games).extracting(GameDto::getId).containsExactly(gameId);
+
+        result = mockMvc.perform(get("/game/search/autocomplete")
+                        .param("prefix", "twilight imp")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<String> titles = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<String>>() {});
+        assertThat(titles).containsExactly("Twilight Imperium");
+    }
+
+    @Test
+    @DisplayName("Browse games by language and player count with facet counts")
+    void browseGames() throws Exception {
+        Long[] ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            Game game = generateGame(null, 10000L, GameStatus.PUBLISHED, generateNewImageListForNewGame());
+            game.setLanguage(i == 0 ? GameLanguage.RU : GameLanguage.EN);
+            game.setMinPlayers(17);
+            game.setMaxPlayers(19);
+            ids[i] = gameService.saveGame(game).getId();
+        }
+
+        MvcResult result = mockMvc.perform(get("/game/browse")
+                        .param("language", "EN")
+                        .param("players", "18")
+                        .param("size", "1")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameBrowseDto page = objectMapper.readValue(result.getResponse().getContentAsString(), GameBrowseDto.class);
+        assertThat(page.getGames()).extracting(GameDto::getId).containsExactly(ids[2]);
+        assertThat(page.getTotal()).isEqualTo(2);
+        assertThat(page.getLanguageCounts()).containsEntry(GameLanguage.EN, 2).containsEntry(GameLanguage.RU, 1);
+        assertThat(page.getNextCursor()).isNotNull();
+
+        result = mockMvc.perform(get("/game/browse")
+                        .param("language", "EN")
+                        .param("players", "18")
+                        .param("size", "1")
+                        .param("cursor", page.getNextCursor())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        page = objectMapper.readValue(result.getResponse().getContentAsString(), GameBrowseDto.class);
+        assertThat(page.getGames()).extracting(GameDto::getId).containsExactly(ids[1]);
+        assertThat(page.getNextCursor()).isNull();
+
+        mockMvc.perform(get("/game/browse")
+                        .param("status", "SOLD")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Create new game")
     void createGame() throws Exception {
@@ -117,6 +300,39 @@ class GameControllerIntegrationTests {
         assertThat(game.getImages().get(0).getId()).isPositive();
     }
 
+    @Test
+    @DisplayName("Import games from NDJSON")
+    void importGames() throws Exception {
+        Long userId = 20000L;
+        GameDto valid = generateGameDto(null, userId, null, generateNewImageListForNewGameDto());
+        GameDto invalid = generateGameDto(null, userId, null, generateNewImageListForNewGameDto());
+        invalid.setTitle("");
+        String ndjson = objectMapper.writeValueAsString(valid) + "\n"
+                + "{not json\n"
+                + "\n"
+                + objectMapper.writeValueAsString(invalid) + "\n"
+                + objectMapper.writeValueAsString(valid) + "\n";
+
+        MvcResult result = mockMvc.perform(post("/internal/game/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameImportResultDto importResult = objectMapper.readValue(
+                result.getResponse().getContentAsString(), GameImportResultDto.class);
+        assertThat(importResult.getImported()).isEqualTo(2);
+        assertThat(importResult.getFailed()).isEqualTo(2);
+        assertThat(importResult.getErrors()).extracting("line").containsExactly(2L, 4L);
+
+        List<GameDto> imported = gameService.findGamePageByUserId(userId, null, 10).games();
+        assertThat(imported).hasSize(2);
+        assertThat(imported).allSatisfy(game -> {
+            assertThat(game.getStatus()).isEqualTo(GameStatus.PUBLISHED);
+            assertThat(game.getImages()).hasSize(2);
+        });
+    }
+
     @Test
     @DisplayName("Update existing game")
     void updateGame() throws Exception {
@@ -187,6 +403,50 @@ class GameControllerIntegrationTests {
         assertThat(gameService.findGameById(savedGameDto.getId()).getStatus()).isEqualTo(GameStatus.PUBLISHED);
     }
 
+    @Test
+    @DisplayName("Change statuses of several games")
+    void changeGameStatuses() throws Exception {
+        GameDto published = saveGameDto();
+        GameDto sold = saveGameDto();
+        gameService.setStatusToSoldForGameWithId(sold.getId());
+        GameDto inAuction = saveGameDto();
+        gameService.setStatusToInAuctionForGameWithId(inAuction.getId());
+        Long inAuctionVersion = gameService.findGameById(inAuction.getId()).getVersion();
+        Long missingId = sold.getId() + 1000;
+        GameStatusChangeDto statusChange = new GameStatusChangeDto(
+                List.of(published.getId(), sold.getId(), missingId, inAuction.getId()), GameStatus.IN_AUCTION);
+
+        MvcResult result = mockMvc.perform(put("/internal/game/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusChange))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn();
+        Map<Long, GameStatusChangeResult> results = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<Map<Long, GameStatusChangeResult>>() {});
+        assertThat(results).containsExactly(
+                Map.entry(published.getId(), GameStatusChangeResult.UPDATED),
+                Map.entry(sold.getId(), GameStatusChangeResult.ILLEGAL_TRANSITION),
+                Map.entry(missingId, GameStatusChangeResult.NOT_FOUND),
+                Map.entry(inAuction.getId(), GameStatusChangeResult.UNCHANGED));
+        assertThat(gameService.findGameById(published.getId()).getStatus()).isEqualTo(GameStatus.IN_AUCTION);
+        assertThat(gameService.findGameById(inAuction.getId()).getVersion()).isEqualTo(inAuctionVersion);
+        assertThat(gameService.findGameById(sold.getId()).getStatus()).isEqualTo(GameStatus.SOLD);
+    }
+
+    @Test
+    @DisplayName("Set game status to PUBLISHED when game is SOLD")
+    void setStatusToPublishedWhenSold() throws Exception {
+        GameDto savedGameDto = saveGameDto();
+        gameService.setStatusToSoldForGameWithId(savedGameDto.getId());
+
+        mockMvc.perform(put("/internal/game/{id}/published", savedGameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isConflict());
+        assertThat(gameService.findGameById(savedGameDto.getId()).getStatus()).isEqualTo(GameStatus.SOLD);
+    }
+
     @Test
     @DisplayName("Delete game")
     void deleteGame() throws Exception {
@@ -0,0 +1,366 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameImageDto;
+import com.bgauction.gameservice.model.dto.GameStatusChangeDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.service.GameService;
+import com.bgauction.gameservice.util.QueryCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateGameDto;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGameDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameControllerQueryBudgetTests {
+
+    // reserving the feed positions and inserting the event rows, one of each for any number of events
+    private static final int OUTBOX_EVENT = 2;
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameMapper gameMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("GET /game/{id} - one select when cold, none when cached")
+    void getGameByIdBudget() throws Exception {
+        Game game = saveGame(30001L);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/{id}", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/{id}", 1);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/internal/game/{id}", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /internal/game/{id}", 0);
+    }
+
+    @Test
+    @DisplayName("GET /game/user/{userId} - page query plus one image query")
+    void getGamesByUserIdBudget() throws Exception {
+        Long userId = 30002L;
+        saveGame(userId);
+        saveGame(userId);
+        saveGame(userId);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/user/{userId}", userId)
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/user/{userId}", 2);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/user/{userId}", userId)
+                        .param("size", "2")
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/user/{userId}?size=2", 2);
+    }
+
+    @Test
+    @DisplayName("POST /internal/game/batch - one select")
+    void getGamesByIdsBudget() throws Exception {
+        List<Long> ids = List.of(saveGame(30003L).getId(), saveGame(30003L).getId(), saveGame(30003L).getId());
+
+        QueryCounter.reset();
+        mockMvc.perform(post("/internal/game/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("POST /internal/game/batch", 1);
+    }
+
+    @Test
+    @DisplayName("GET /game/search - one select, autocomplete none")
+    void searchGamesBudget() throws Exception {
+        saveGame(30009L);
+        saveGame(30009L);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/search")
+                        .param("q", "description0")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/search", 1);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/search/autocomplete")
+                        .param("prefix", "tit")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/search/autocomplete", 0);
+    }
+
+    @Test
+    @DisplayName("GET /game/browse - one select, facets come from the in-memory index")
+    void browseGamesBudget() throws Exception {
+        saveGame(30011L);
+        saveGame(30011L);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/game/browse")
+                        .param("players", "3")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /game/browse", 1);
+    }
+
+    @Test
+    @DisplayName("POST /internal/game/import - one batched insert per table and one outbox event for the whole chunk")
+    void importGamesBudget() throws Exception {
+        Long userId = 30012L;
+        saveGame(userId);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            ndjson.append(objectMapper.writeValueAsString(
+                    generateGameDto(null, userId, null, generateNewImageListForNewGameDto()))).append('\n');
+        }
+
+        QueryCounter.reset();
+        mockMvc.perform(post("/internal/game/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        // up to four more statements when the import crosses an id block of either table
+        QueryCounter.assertStatementBudget("POST /internal/game/import", 2 + OUTBOX_EVENT + 4);
+        assertThat(QueryCounter.inserts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("GET /internal/game/export - no ORM statement, one streamed query on the export pool")
+    void exportGamesBudget() throws Exception {
+        saveGame(30013L);
+        saveGame(30013L);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/internal/game/export")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /internal/game/export", 0);
+        assertThat(jdbcTemplate.queryForObject("select sum(execution_count) from information_schema.query_statistics "
+                + "where sql_statement like '%left join game_images i on i.game_id = g.id%'", Long.class)).isEqualTo(1L);
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+    }
+
+    @Test
+    @DisplayName("GET /internal/game/events - one select")
+    void getGameEventsBudget() throws Exception {
+        saveGame(30014L);
+
+        QueryCounter.reset();
+        mockMvc.perform(get("/internal/game/events")
+                        .param("after", "0")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /internal/game/events", 1);
+    }
+
+    @Test
+    @DisplayName("GET /internal/game/cache/stats - no statements")
+    void cacheStatsBudget() throws Exception {
+        QueryCounter.reset();
+        mockMvc.perform(get("/internal/game/cache/stats")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("GET /internal/game/cache/stats", 0);
+    }
+
+    @Test
+    @DisplayName("POST /game - one insert per row plus the outbox event")
+    void createGameBudget() throws Exception {
+        Long userId = 30004L;
+        GameDto gameDto = generateGameDto(null, userId, null, generateNewImageListForNewGameDto());
+        saveGame(userId);
+
+        QueryCounter.reset();
+        mockMvc.perform(post("/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isCreated());
+        QueryCounter.assertStatementBudget("POST /game", 1 + gameDto.getImages().size() + OUTBOX_EVENT);
+    }
+
+    @Test
+    @DisplayName("PUT /game/{id} - one select, one update and the outbox event, no image writes when images are unchanged")
+    void updateGameBudget() throws Exception {
+        Long userId = 30005L;
+        GameDto gameDto = gameMapper.gameToGameDto(saveGame(userId));
+        gameDto.setTitle("new title");
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/game/{id}", gameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /game/{id}", 2 + OUTBOX_EVENT);
+        assertThat(QueryCounter.inserts()).isEqualTo(1);
+        assertThat(QueryCounter.deletes()).isZero();
+    }
+
+    @Test
+    @DisplayName("PUT /game/{id} - only the select when nothing changed")
+    void updateUnchangedGameBudget() throws Exception {
+        Long userId = 30016L;
+        GameDto gameDto = gameMapper.gameToGameDto(saveGame(userId));
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/game/{id}", gameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /game/{id} without changes", 1);
+        assertThat(gameService.findGameById(gameDto.getId()).getVersion()).isEqualTo(gameDto.getVersion());
+    }
+
+    @Test
+    @DisplayName("PUT /game/{id} - only the replaced image is deleted and inserted")
+    void updateGameImagesBudget() throws Exception {
+        Long userId = 30009L;
+        GameDto gameDto = gameMapper.gameToGameDto(saveGame(userId));
+        gameDto.getImages().remove(0);
+        gameDto.getImages().add(new GameImageDto(null, "https://boardgamegeek.com/image/99999999"));
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/game/{id}", gameDto.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(gameDto))
+                        .header("X-Service-Key", serviceInternalKey)
+                        .header("X-User-Id", userId))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /game/{id} with one replaced image", 4 + OUTBOX_EVENT);
+        assertThat(QueryCounter.inserts()).isEqualTo(2);
+        assertThat(QueryCounter.deletes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("PUT /internal/game/{id}/in_auction - one update and the outbox event, no image access")
+    void setStatusBudget() throws Exception {
+        Game game = saveGame(30006L);
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/internal/game/{id}/in_auction", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /internal/game/{id}/in_auction", 1 + OUTBOX_EVENT);
+    }
+
+    @Test
+    @DisplayName("PUT /internal/game/{id}/published and /sold - one update and the outbox event each")
+    void setStatusPublishedAndSoldBudget() throws Exception {
+        Game game = saveGame(30015L);
+        gameService.setStatusToInAuctionForGameWithId(game.getId());
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/internal/game/{id}/published", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /internal/game/{id}/published", 1 + OUTBOX_EVENT);
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/internal/game/{id}/sold", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("PUT /internal/game/{id}/sold", 1 + OUTBOX_EVENT);
+    }
+
+    @Test
+    @DisplayName("PUT /internal/game/status - one locking select, one update and one outbox event")
+    void changeGameStatusesBudget() throws Exception {
+        List<Long> ids = List.of(saveGame(30007L).getId(), saveGame(30007L).getId(), saveGame(30007L).getId());
+
+        QueryCounter.reset();
+        mockMvc.perform(put("/internal/game/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GameStatusChangeDto(ids, GameStatus.SOLD)))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("PUT /internal/game/status", 2 + OUTBOX_EVENT);
+        assertThat(QueryCounter.inserts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DELETE /internal/game/{id} - one soft-delete update and the outbox event")
+    void deleteGameBudget() throws Exception {
+        Game game = saveGame(30008L);
+
+        QueryCounter.reset();
+        mockMvc.perform(delete("/internal/game/{id}", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNoContent());
+        QueryCounter.assertStatementBudget("DELETE /internal/game/{id}", 1 + OUTBOX_EVENT);
+    }
+
+    @Test
+    @DisplayName("DELETE /internal/game/user/{userId} - one locking select, one soft-delete update and one outbox event")
+    void deleteGamesByUserIdBudget() throws Exception {
+        saveGame(30010L);
+        saveGame(30010L);
+        saveGame(30010L);
+
+        QueryCounter.reset();
+        mockMvc.perform(delete("/internal/game/user/{userId}", 30010L)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        QueryCounter.assertStatementBudget("DELETE /internal/game/user/{userId}", 2 + OUTBOX_EVENT);
+        assertThat(QueryCounter.inserts()).isEqualTo(1);
+    }
+
+    private Game saveGame(Long userId) {
+        return gameService.saveGame(generateGame(null, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+    }
+}
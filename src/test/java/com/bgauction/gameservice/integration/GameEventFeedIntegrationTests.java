@@ -0,0 +1,202 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.dto.GameEventDto;
+import com.bgauction.gameservice.model.dto.GameEventPageDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameEventFeedIntegrationTests {
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameEventService gameEventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Every committed change appears in the feed in commit order")
+    void readEventsAfterOffset() throws Exception {
+        long offset = tip();
+        Game game = gameService.saveGame(
+                generateGame(null, 80001L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        gameService.setStatusToInAuctionForGameWithId(game.getId());
+        gameService.deleteGameById(game.getId());
+
+        JsonNode page = readFeed(offset, 0);
+        List<String> types = new ArrayList<>();
+        page.get("events").forEach(event -> {
+            assertThat(event.get("gameId").asLong()).isEqualTo(game.getId());
+            types.add(event.get("type").asText());
+        });
+        assertThat(types).containsExactly(
+                GameEventType.CREATED.name(), GameEventType.STATUS_CHANGED.name(), GameEventType.DELETED.name());
+        assertThat(page.get("events").get(1).get("status").asText()).isEqualTo(GameStatus.IN_AUCTION.name());
+        assertThat(page.get("nextOffset").asLong()).isGreaterThan(offset);
+
+        JsonNode empty = readFeed(page.get("nextOffset").asLong(), 0);
+        assertThat(empty.get("events")).isEmpty();
+        assertThat(empty.get("nextOffset").asLong()).isEqualTo(page.get("nextOffset").asLong());
+    }
+
+    @Test
+    @DisplayName("A waiting reader is woken by the next commit")
+    void longPollWakesOnCommit() throws Exception {
+        long offset = tip();
+        CompletableFuture<GameEventPageDto> waiting =
+                CompletableFuture.supplyAsync(() -> gameEventService.readEvents(offset, 100, Duration.ofSeconds(20)));
+
+        Game game = gameService.saveGame(
+                generateGame(null, 80002L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+
+        GameEventPageDto page = waiting.get(10, TimeUnit.SECONDS);
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.getEvents().get(0).getGameId()).isEqualTo(game.getId());
+        assertThat(page.getEvents().get(0).getType()).isEqualTo(GameEventType.CREATED);
+    }
+
+    @Test
+    @DisplayName("A transaction that writes events later but commits first waits for the earlier one, "
+            + "so the feed never skips a position that commits late")
+    void positionsFollowCommitOrder() throws Exception {
+        Game first = gameService.saveGame(
+                generateGame(null, 80004L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        Game second = gameService.saveGame(
+                generateGame(null, 80005L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        long offset = tip();
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        CompletableFuture<Void> firstTx = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            gameEventService.recordEvent(first.getId(), GameEventType.UPDATED, GameStatus.PUBLISHED);
+            firstRecorded.countDown();
+            await(commitFirst);
+        }));
+        assertThat(firstRecorded.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> secondTx = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                tx -> gameEventService.recordEvent(second.getId(), GameEventType.UPDATED, GameStatus.PUBLISHED)));
+
+        // kept well under the database lock timeout
+        Thread.sleep(200);
+        assertThat(secondTx).isNotDone();
+        assertThat(gameEventService.readEvents(offset, 10, Duration.ZERO).getEvents()).isEmpty();
+
+        commitFirst.countDown();
+        firstTx.get(5, TimeUnit.SECONDS);
+        secondTx.get(5, TimeUnit.SECONDS);
+        List<GameEventDto> events = gameEventService.readEvents(offset, 10, Duration.ZERO).getEvents();
+        assertThat(events).extracting(GameEventDto::getGameId).containsExactly(first.getId(), second.getId());
+        assertThat(events).extracting(GameEventDto::getOffset).containsExactly(offset + 1, offset + 2);
+    }
+
+    @Test
+    @DisplayName("Events past the retention period are purged, recent ones are kept")
+    void purgeExpiredEvents() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Game expired = gameService.saveGame(
+                generateGame(null, 80003L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        jdbcTemplate.update("update game_events set created = ? where game_id = ?",
+                LocalDateTime.now().minusDays(30), expired.getId());
+        Game game = gameService.saveGame(
+                generateGame(null, 80003L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+
+        assertThat(gameEventService.purgeExpiredEvents()).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from game_events where game_id = ?", Integer.class, expired.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from game_events where game_id = ?", Integer.class, game.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Invalid feed parameters are rejected")
+    void invalidParameters() throws Exception {
+        mockMvc.perform(get("/internal/game/events")
+                        .param("after", "-1")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/internal/game/events")
+                        .param("limit", "0")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/internal/game/events")
+                        .param("wait", "-1")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long tip() {
+        long offset = 0;
+        while (true) {
+            GameEventPageDto page = gameEventService.readEvents(offset, 500, Duration.ZERO);
+            if (page.getEvents().isEmpty()) {
+                return offset;
+            }
+            offset = page.getNextOffset();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonNode readFeed(long after, int wait) throws Exception {
+        String body = mockMvc.perform(get("/internal/game/events")
+                        .param("after", String.valueOf(after))
+                        .param("wait", String.valueOf(wait))
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameExportIntegrationTests {
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Sql(statements = {"delete from game_images", "delete from games"})
+    @DisplayName("Export streams every game with its images as NDJSON and CSV")
+    void exportGames() throws Exception {
+        Game withImages = gameService.saveGame(
+                generateGame(null, 71001L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        Game withoutImages = generateGame(null, 71001L, GameStatus.PUBLISHED, new ArrayList<>());
+        withoutImages.setTitle("Title with \"quotes\", and a comma");
+        withoutImages = gameService.saveGame(withoutImages);
+
+        String ndjson = mockMvc.perform(get("/internal/game/export")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> games = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            games.add(objectMapper.readTree(line));
+        }
+        assertThat(games).extracting(game -> game.get("id").asLong())
+                .containsExactly(withImages.getId(), withoutImages.getId());
+        assertThat(games.get(0).get("images")).hasSize(2);
+        assertThat(games.get(1).get("images")).isEmpty();
+        assertThat(games.get(1).get("title").asText()).isEqualTo(withoutImages.getTitle());
+
+        String csv = mockMvc.perform(get("/internal/game/export")
+                        .param("format", "csv")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,user_id,title");
+        assertThat(lines[1]).startsWith(withImages.getId() + ",71001,")
+                .contains("https://boardgamegeek.com/image/54043754")
+                .contains("https://boardgamegeek.com/image/53525566");
+        assertThat(lines[2]).contains("\"Title with \"\"quotes\"\", and a comma\"").endsWith(",\"\"");
+    }
+
+    @Test
+    @DisplayName("Export rejects unknown formats")
+    void exportWithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/internal/game/export")
+                        .param("format", "xml")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,126 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.dto.GameBrowsePage;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.search.GameFacetIndex;
+import com.bgauction.gameservice.search.GameIndexFeedListener;
+import com.bgauction.gameservice.search.GameIndexLoader;
+import com.bgauction.gameservice.search.GameSearchIndex;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes games and their events straight to the database, as another instance sharing it would,
+ * and checks that following the change feed brings this instance's indexes up to date.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameIndexFeedIntegrationTests {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameEventService gameEventService;
+
+    @Autowired
+    private GameIndexLoader gameIndexLoader;
+
+    @Autowired
+    private GameSearchIndex gameSearchIndex;
+
+    @Autowired
+    private GameFacetIndex gameFacetIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GameIndexFeedListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new GameIndexFeedListener(
+                gameEventService, gameRepository, gameIndexLoader, gameSearchIndex, gameFacetIndex, 500);
+        listener.poll();
+    }
+
+    @Test
+    @DisplayName("Games created, edited and deleted on another instance reach search and autocomplete here")
+    void searchFollowsOtherInstances() {
+        Long id = createOnOtherInstance(85001L, "Quasar Harbour");
+        assertThat(gameService.searchGames("quasar", 10)).isEmpty();
+
+        listener.poll();
+        assertThat(gameService.searchGames("quasar", 10)).extracting(Game::getId).containsExactly(id);
+        assertThat(gameService.autocompleteTitles("quas", 10)).containsExactly("Quasar Harbour");
+
+        jdbcTemplate.update("update games set title = ?, version = version + 1 where id = ?", "Pulsar Harbour", id);
+        gameEventService.recordEvent(id, GameEventType.UPDATED, GameStatus.PUBLISHED);
+        listener.poll();
+        assertThat(gameService.searchGames("quasar", 10)).isEmpty();
+        assertThat(gameService.searchGames("pulsar", 10)).extracting(Game::getId).containsExactly(id);
+
+        jdbcTemplate.update("update games set deleted = true, version = version + 1 where id = ?", id);
+        gameEventService.recordEvent(id, GameEventType.DELETED, null);
+        listener.poll();
+        assertThat(gameService.searchGames("pulsar", 10)).isEmpty();
+        assertThat(gameService.autocompleteTitles("puls", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Games created and sold on another instance enter and leave browse here")
+    void browseFollowsOtherInstances() {
+        Long id = createOnOtherInstance(85002L, "Nova Market");
+        Set<GameLanguage> languages = Set.of(GameLanguage.LV);
+        int published = browse(languages).statusCounts().get(GameStatus.PUBLISHED);
+
+        listener.poll();
+        GameBrowsePage page = browse(languages);
+        assertThat(page.games()).extracting(Game::getId).contains(id);
+        assertThat(page.statusCounts()).containsEntry(GameStatus.PUBLISHED, published + 1);
+
+        jdbcTemplate.update("update games set status = ?, version = version + 1 where id = ?", GameStatus.SOLD.name(), id);
+        gameEventService.recordEvent(id, GameEventType.STATUS_CHANGED, GameStatus.SOLD);
+        // until the next poll the index still has the game as published, but the page leaves it out
+        assertThat(browse(languages).games()).extracting(Game::getId).doesNotContain(id);
+
+        listener.poll();
+        page = browse(languages);
+        assertThat(page.games()).extracting(Game::getId).doesNotContain(id);
+        assertThat(page.statusCounts()).containsEntry(GameStatus.PUBLISHED, published);
+    }
+
+    private Long createOnOtherInstance(Long userId, String title) {
+        Game game = generateGame(null, userId, GameStatus.PUBLISHED, new ArrayList<>());
+        game.setTitle(title);
+        Long id = gameRepository.save(game).getId();
+        gameEventService.recordEvent(id, GameEventType.CREATED, GameStatus.PUBLISHED);
+        return id;
+    }
+
+    private GameBrowsePage browse(Set<GameLanguage> languages) {
+        return gameService.browseGames(languages, null, Set.of(), null, 200);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.mapper.GameMapper;
+import com.bgauction.gameservice.model.mapper.GameRowMapper;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.service.GameService;
+import com.bgauction.gameservice.util.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity + MapStruct read path with the projection read path: both return the same games,
+ * the projection path in a fixed number of statements and without filling the persistence context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class GameReadPathComparisonTests {
+
+    private static final long USER_ID = 50001L;
+    private static final int GAMES = 50;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameMapper gameMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> gameIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < GAMES; i++) {
+            gameIds.add(gameRepository.save(
+                    generateGame(null, USER_ID, GameStatus.PUBLISHED, generateNewImageListForNewGame())).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projection page reads a page in two statements and leaves the persistence context empty")
+    void userPage() {
+        List<GameDto> viaEntities = gameRepository.findAllWithImagesByIdIn(gameIds).stream()
+                .map(gameMapper::gameToGameDto).toList();
+        assertThat(managedEntities()).isGreaterThan(GAMES);
+        entityManager.clear();
+
+        QueryCounter.reset();
+        List<GameDto> viaProjection = gameService.findGamePageByUserId(USER_ID, null, GAMES).games();
+        assertThat(QueryCounter.selects()).isEqualTo(2);
+        assertThat(QueryCounter.total()).isEqualTo(2);
+        assertThat(managedEntities()).isZero();
+
+        assertThat(viaProjection).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(viaEntities);
+    }
+
+    @Test
+    @DisplayName("Projection lookup by id reads one statement and leaves the persistence context empty")
+    void gameById() {
+        Long gameId = gameIds.get(0);
+        GameDto viaEntities = gameMapper.gameToGameDto(gameRepository.findWithImagesById(gameId).orElseThrow());
+        assertThat(managedEntities()).isGreaterThan(1);
+        entityManager.clear();
+
+        QueryCounter.reset();
+        GameDto viaProjection = gameMapper.gameToGameDto(
+                GameRowMapper.toGame(gameRepository.findDetailRowsById(gameId)).orElseThrow());
+        assertThat(QueryCounter.total()).isEqualTo(1);
+        assertThat(managedEntities()).isZero();
+
+        assertThat(viaProjection).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(viaEntities);
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
@@ -0,0 +1,197 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateGameDto;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGameDto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases stand in for the primary and the replica. The replica copy of a game gets a different title,
+ * so every read shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "game.datasource.replica.enabled=true",
+        "game.datasource.replica.jdbc-url=" + GameReplicaRoutingIntegrationTests.REPLICA_URL,
+        "game.datasource.replica.driver-class-name=org.h2.Driver",
+        "game.datasource.replica.username=sa",
+        "game.datasource.replica.password=",
+        "game.datasource.read-your-writes.window-ms=60000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameReplicaRoutingIntegrationTests {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final String REPLICA_TITLE = "replica title";
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions read the replica, writes and cache fills use the primary")
+    void readOnlyTransactionsUseReplica() {
+        Game game = saveGameWithReplicaCopy(60001L);
+
+        assertThat(gameService.findGamePageByUserId(60001L, null, 10).games())
+                .extracting(GameDto::getTitle).containsExactly(REPLICA_TITLE);
+        assertThat(gameService.findGameById(game.getId()).getTitle()).isEqualTo(game.getTitle());
+    }
+
+    @Test
+    @DisplayName("A user who just wrote reads the primary until the window passes")
+    void readYourWrites() throws Exception {
+        Long userId = 60002L;
+        Game game = saveGameWithReplicaCopy(userId);
+
+        assertThat(titlesOfUser(userId)).containsExactly(REPLICA_TITLE);
+
+        mockMvc.perform(post("/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                generateGameDto(null, userId, null, generateNewImageListForNewGameDto())))
+                        .header("X-User-Id", userId)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isCreated());
+
+        assertThat(titlesOfUser(userId)).hasSize(2).doesNotContain(REPLICA_TITLE).contains(game.getTitle());
+        assertThat(gameService.findGamePageByUserId(userId, null, 10).games())
+                .extracting(GameDto::getTitle).containsExactly(REPLICA_TITLE);
+    }
+
+    @Test
+    @DisplayName("The pin cookie of a write keeps reads on the primary on any instance")
+    void readYourWritesCookie() throws Exception {
+        Long userId = 60003L;
+        Game game = saveGameWithReplicaCopy(userId);
+
+        MvcResult write = mockMvc.perform(post("/game")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                generateGameDto(null, 60004L, null, generateNewImageListForNewGameDto())))
+                        .header("X-User-Id", 60004L)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie pin = write.getResponse().getCookie("game_primary_until");
+        assertThat(pin).isNotNull();
+
+        // a user this instance never saw write, as if the write had gone to another instance
+        assertThat(titlesOfUser(userId)).containsExactly(REPLICA_TITLE);
+        assertThat(titlesOfUser(userId, pin)).containsExactly(game.getTitle());
+
+        Cookie forged = new Cookie(pin.getName(), Long.toString(System.currentTimeMillis() + 3_600_000L));
+        assertThat(titlesOfUser(userId, forged)).containsExactly(REPLICA_TITLE);
+    }
+
+    @Test
+    @DisplayName("Search finds games the replica doesn't have yet")
+    void searchFallsBackToPrimary() throws Exception {
+        Game game = generateGame(null, 60005L, GameStatus.PUBLISHED, generateNewImageListForNewGame());
+        game.setTitle("Nebula Frontier");
+        Long id = gameService.saveGame(game).getId();
+
+        String body = mockMvc.perform(get("/game/search")
+                        .param("q", "nebula")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(body)).extracting(node -> node.get("id").asLong()).contains(id);
+    }
+
+    @Test
+    @DisplayName("Export reads the replica")
+    void exportUsesReplica() throws Exception {
+        Game game = saveGameWithReplicaCopy(60006L);
+
+        String body = mockMvc.perform(get("/internal/game/export")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> titles = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            titles.add(objectMapper.readTree(line).get("title").asText());
+        }
+        assertThat(titles).containsExactly(REPLICA_TITLE).doesNotContain(game.getTitle());
+    }
+
+    private List<String> titlesOfUser(Long userId, Cookie... cookies) throws Exception {
+        MockHttpServletRequestBuilder request = get("/game/user/{userId}", userId)
+                .header("X-User-Id", userId)
+                .header("X-Service-Key", serviceInternalKey);
+        if (cookies.length > 0) {
+            request.cookie(cookies);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> titles = new ArrayList<>();
+        for (JsonNode game : objectMapper.readTree(body)) {
+            titles.add(game.get("title").asText());
+        }
+        return titles;
+    }
+
+    private Game saveGameWithReplicaCopy(Long userId) {
+        Game game = gameService.saveGame(generateGame(null, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        replica.update("insert into games (id, user_id, title, description, game_condition, language, min_players, "
+                        + "max_players, status, created, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                game.getId(), game.getUserId(), REPLICA_TITLE, game.getDescription(), game.getCondition(),
+                game.getLanguage().name(), game.getMinPlayers(), game.getMaxPlayers(), game.getStatus().name(),
+                game.getCreated(), game.getVersion());
+        return game;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.scheduling.JobLock;
+import com.bgauction.gameservice.service.GamePurgeService;
+import com.bgauction.gameservice.service.GameService;
+import com.bgauction.gameservice.service.impl.GamePurgeServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameSoftDeleteIntegrationTests {
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JobLock jobLock;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private GamePurgeService gamePurgeService;
+
+    @BeforeEach
+    void setUp() {
+        // one game per batch, so the purge has to go through several batches
+        gamePurgeService = new GamePurgeServiceImpl(gameRepository, transactionTemplate, jobLock, 1, 1000, 3600);
+    }
+
+    @Test
+    @DisplayName("Deleted games disappear from reads, stay in the table and are purged with their images")
+    void deleteAndPurge() throws Exception {
+        Long first = saveGame(70001L).getId();
+        Long second = saveGame(70001L).getId();
+        Long kept = saveGame(70002L).getId();
+        mockMvc.perform(get("/game/{id}", first).header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(delete("/internal/game/user/{userId}", 70001L)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readValue(body, Long[].class)).containsExactlyInAnyOrder(first, second);
+
+        mockMvc.perform(get("/game/{id}", first).header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/internal/game/{id}", second).header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNotFound());
+        assertThat(gameService.findGamePageByUserId(70001L, null, 10).games()).isEmpty();
+        assertThat(gameService.findGamesByIds(List.of(first, second, kept))).extracting(Game::getId).containsExactly(kept);
+        assertThat(countGames(first, second)).isEqualTo(2);
+
+        assertThat(gamePurgeService.purgeDeletedGames()).isGreaterThanOrEqualTo(2);
+        assertThat(countGames(first, second)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from game_images where game_id in (?, ?)", Integer.class, first, second)).isZero();
+        assertThat(gameService.findGameById(kept).getImages()).hasSize(2);
+        assertThat(gamePurgeService.purgeDeletedGames()).isZero();
+    }
+
+    @Test
+    @DisplayName("Status changes skip deleted games")
+    void statusChangeOfDeletedGame() throws Exception {
+        Long id = saveGame(70003L).getId();
+        gameService.deleteGameById(id);
+
+        mockMvc.perform(put("/internal/game/{id}/in_auction", id).header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNotFound());
+        assertThat(jdbcTemplate.queryForObject("select status from games where id = ?", String.class, id))
+                .isEqualTo(GameStatus.PUBLISHED.name());
+    }
+
+    private Integer countGames(Long first, Long second) {
+        return jdbcTemplate.queryForObject("select count(*) from games where id in (?, ?)", Integer.class, first, second);
+    }
+
+    private Game saveGame(Long userId) {
+        return gameService.saveGame(generateGame(null, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+    }
+}
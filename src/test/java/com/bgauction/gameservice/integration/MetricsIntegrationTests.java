@@ -0,0 +1,65 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.service.GameService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsIntegrationTests {
+
+    @Value("${service.internal-key}")
+    private String serviceInternalKey;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    @DisplayName("Prometheus scrape exposes request, service, Hibernate, pool, cache and JVM metrics")
+    void prometheusScrape() throws Exception {
+        Game game = gameService.saveGame(
+                generateGame(null, 90001L, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        mockMvc.perform(get("/game/{id}", game.getId())
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/game/{id}", Long.MAX_VALUE)
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")
+                        .header("X-Service-Key", serviceInternalKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*status=\"200\".*uri=\"/game/\\{id}\"")
+                .containsPattern("http_server_requests_seconds_count\\{.*status=\"404\".*uri=\"/game/\\{id}\"")
+                .containsPattern("game_service_seconds_bucket\\{.*method=\"findGameJsonById\"")
+                .contains("hibernate_query_executions_total")
+                .contains("hibernate_entities_loads_total")
+                .contains("hikaricp_connections_pending")
+                .containsPattern("cache_gets_total\\{.*cache=\"games\"")
+                .contains("jvm_gc_");
+    }
+}
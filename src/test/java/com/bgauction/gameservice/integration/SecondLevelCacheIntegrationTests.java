@@ -0,0 +1,155 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.cache.GameCache;
+import com.bgauction.gameservice.cache.GameCacheEvictionListener;
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.service.GameEventService;
+import com.bgauction.gameservice.service.GameService;
+import com.bgauction.gameservice.util.QueryCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTests {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GameEventService gameEventService;
+
+    @Autowired
+    private GameCache gameCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Repeat reads of a game and its images skip the database")
+    void repeatReadsHitCache() {
+        Long id = saveGame(95001L).getId();
+        readGame(id);
+
+        QueryCounter.reset();
+        Game game = readGame(id);
+        assertThat(QueryCounter.total()).isZero();
+        assertThat(game.getImages()).hasSize(2);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getSecondLevelCacheRegionNames()).anyMatch(region -> region.endsWith(Game.CACHE_REGION));
+    }
+
+    @Test
+    @DisplayName("Status change and update are visible through the cache")
+    void writesInvalidateCache() {
+        Long id = saveGame(95002L).getId();
+        readGame(id);
+
+        Game update = readGame(id);
+        update.setTitle("updated title");
+        List<GameImage> images = new ArrayList<>(update.getImages().subList(0, 1));
+        images.forEach(image -> image.setGame(null));
+        update.setImages(images);
+        gameService.updateGame(update);
+
+        Game updated = readGame(id);
+        assertThat(updated.getTitle()).isEqualTo("updated title");
+        assertThat(updated.getImages()).hasSize(1);
+
+        gameService.setStatusToInAuctionForGameWithId(id);
+        Game inAuction = readGame(id);
+        assertThat(inAuction.getStatus()).isEqualTo(GameStatus.IN_AUCTION);
+        assertThat(inAuction.getVersion()).isGreaterThan(updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Writes that only record events for other games leave cached games in place")
+    void eventInsertsKeepCache() {
+        Long id = saveGame(95003L).getId();
+        readGame(id);
+
+        saveGame(95004L);
+
+        QueryCounter.reset();
+        readGame(id);
+        assertThat(QueryCounter.total()).isZero();
+    }
+
+    @Test
+    @DisplayName("A game written on another instance is evicted here through the change feed")
+    void otherInstanceWriteEvicts() {
+        GameCacheEvictionListener listener =
+                new GameCacheEvictionListener(gameEventService, gameCache, entityManagerFactory, 500);
+        listener.poll();
+        Long id = saveGame(95005L).getId();
+        readGame(id);
+
+        jdbcTemplate.update("update games set title = ?, version = version + 1 where id = ?", "written elsewhere", id);
+        gameEventService.recordEvent(id, GameEventType.UPDATED, GameStatus.PUBLISHED);
+        assertThat(readGame(id).getTitle()).isNotEqualTo("written elsewhere");
+
+        listener.poll();
+        Game game = readGame(id);
+        assertThat(game.getTitle()).isEqualTo("written elsewhere");
+        assertThat(game.getImages()).hasSize(2);
+    }
+
+    private Game readGame(Long id) {
+        return transactionTemplate.execute(status -> {
+            Game game = gameRepository.findById(id).orElseThrow();
+            List<GameImage> images = new ArrayList<>();
+            game.getImages().forEach(image -> images.add(new GameImage(image.getId(), image.getUrl(), null)));
+            Game copy = Game.builder()
+                    .id(game.getId())
+                    .userId(game.getUserId())
+                    .title(game.getTitle())
+                    .description(game.getDescription())
+                    .condition(game.getCondition())
+                    .language(game.getLanguage())
+                    .minPlayers(game.getMinPlayers())
+                    .maxPlayers(game.getMaxPlayers())
+                    .status(game.getStatus())
+                    .created(game.getCreated())
+                    .version(game.getVersion())
+                    .build();
+            copy.setImages(images);
+            return copy;
+        });
+    }
+
+    private Game saveGame(Long userId) {
+        return gameService.saveGame(generateGame(null, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+    }
+}
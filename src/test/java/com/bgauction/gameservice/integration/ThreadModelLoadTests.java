@@ -0,0 +1,111 @@
+package com.bgauction.gameservice.integration;
+
+import com.bgauction.gameservice.util.JdbcLatency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.TestClassOrder;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the load of {@link AbstractThreadModelLoadTests} on platform and then on virtual request threads, with every
+ * JDBC round trip taking {@link #DB_LATENCY}, and compares the two. The results are written to
+ * build/load-test/thread-models.json. Opt-in with GAME_LOAD_TEST=true.
+ * At the configured pool of 20 both models wait on the pool, so virtual threads only have to keep up. With a pool
+ * larger than Tomcat's 200 request threads the platform model runs out of threads first and virtual threads
+ * have to come out clearly ahead.
+ */
+@EnabledIfEnvironmentVariable(named = "GAME_LOAD_TEST", matches = "true")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class ThreadModelLoadTests {
+
+    static final Duration DB_LATENCY = Duration.ofMillis(10);
+    private static final Path RESULTS_FILE = Path.of("build", "load-test", "thread-models.json");
+    private static final Map<String, LoadResult> RESULTS = new ConcurrentHashMap<>();
+
+    record LoadResult(String threadModel, int poolSize, long requestsPerSecond, long p50Ms, long p99Ms, int failures) {
+    }
+
+    static void record(LoadResult result) {
+        RESULTS.put(result.threadModel() + "/" + result.poolSize(), result);
+    }
+
+    @AfterAll
+    static void compare() throws Exception {
+        Files.createDirectories(RESULTS_FILE.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(RESULTS_FILE.toFile(), Map.of(
+                "dbLatencyMs", DB_LATENCY.toMillis(),
+                "results", List.copyOf(RESULTS.values())));
+
+        for (int poolSize : AbstractThreadModelLoadTests.POOL_SIZES) {
+            LoadResult platform = RESULTS.get("platform/" + poolSize);
+            LoadResult virtual = RESULTS.get("virtual/" + poolSize);
+            if (platform == null || virtual == null) {
+                continue;
+            }
+            double minimumRatio = poolSize > 200 ? 1.3 : 0.8;
+            assertThat(virtual.requestsPerSecond())
+                    .as("virtual against platform threads with a pool of %d", poolSize)
+                    .isGreaterThanOrEqualTo((long) (platform.requestsPerSecond() * minimumRatio));
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class DatabaseLatency {
+
+        @Bean
+        static JdbcLatency jdbcLatency() {
+            return new JdbcLatency(DB_LATENCY);
+        }
+    }
+
+    @Nested
+    @Order(1)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:load_platform;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "spring.threads.virtual.enabled=false",
+            "game.rate-limit.enabled=false"
+    })
+    @Import(DatabaseLatency.class)
+    @ActiveProfiles("test")
+    class PlatformThreads extends AbstractThreadModelLoadTests {
+
+        @Override
+        String threadModel() {
+            return "platform";
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:load_virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "spring.threads.virtual.enabled=true",
+            "game.rate-limit.enabled=false"
+    })
+    @Import(DatabaseLatency.class)
+    @ActiveProfiles("test")
+    class VirtualThreads extends AbstractThreadModelLoadTests {
+
+        @Override
+        String threadModel() {
+            return "virtual";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.bgauction.gameservice.repository;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.util.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.bgauction.gameservice.util.TestUtil.generateGame;
+import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNewGame;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN for the SQL behind every repository query and fails when H2 (MySQL mode)
+ * plans a full table scan, so a new query or a dropped index can't quietly add one.
+ * Repository methods are listed by reflection, so a query without a check here fails the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GameRepositoryQueryPlanTests {
+
+    private static final String TABLE_SCAN = "tablescan";
+    private static final String DIRECT_LOOKUP = "direct lookup";
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameEventRepository gameEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        for (long userId = 40001L; userId < 40010L; userId++) {
+            game = gameRepository.save(generateGame(null, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame()));
+        }
+    }
+
+    @TestFactory
+    @DisplayName("Repository queries don't plan a full table scan")
+    Stream<DynamicTest> noFullTableScans() {
+        return queries().entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertNoFullScan(query.getValue())));
+    }
+
+    @Test
+    @DisplayName("Every repository query is checked")
+    void everyQueryIsChecked() {
+        List<String> declared = Stream.of(GameRepository.class, GameEventRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .map(Method::getName)
+                .toList();
+        assertThat(queries().keySet()).containsAll(declared);
+    }
+
+    // one entry per repository method, reads first: the purge deletes images the reads would otherwise find
+    private Map<String, Runnable> queries() {
+        List<Long> ids = List.of(game.getId(), game.getId() - 1);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findWithImagesById", () -> gameRepository.findWithImagesById(game.getId()));
+        queries.put("findDetailRowsById", () -> gameRepository.findDetailRowsById(game.getId()));
+        queries.put("findFirstPageByUserId", () -> gameRepository.findFirstPageByUserId(game.getUserId(), Limit.of(10)));
+        queries.put("findPageByUserIdAfter", () -> gameRepository.findPageByUserIdAfter(
+                game.getUserId(), LocalDateTime.now(), game.getId(), Limit.of(10)));
+        queries.put("findImageRowsByGameIdIn", () -> gameRepository.findImageRowsByGameIdIn(ids));
+        queries.put("findAllWithImagesByIdIn", () -> gameRepository.findAllWithImagesByIdIn(ids));
+        queries.put("findAllWithImagesOnPrimaryByIdIn", () -> gameRepository.findAllWithImagesOnPrimaryByIdIn(ids));
+        queries.put("findIndexPageAfter", () -> gameRepository.findIndexPageAfter(game.getId() - 5, Limit.of(100)));
+        queries.put("findIndexViewsByIdIn", () -> gameRepository.findIndexViewsByIdIn(ids));
+        queries.put("findStatusesByIdIn", () -> gameRepository.findStatusesByIdIn(ids));
+        queries.put("findAllForUpdateByIdIn", () -> transactionTemplate.executeWithoutResult(status ->
+                gameRepository.findAllForUpdateByIdIn(ids)));
+        queries.put("findActiveForUpdateByUserId", () -> transactionTemplate.executeWithoutResult(status ->
+                gameRepository.findActiveForUpdateByUserId(game.getUserId(), Limit.of(500))));
+        queries.put("updateStatusById", () -> gameRepository.updateStatusById(
+                game.getId(), GameStatus.IN_AUCTION, GameStatus.IN_AUCTION.allowedPredecessors()));
+        queries.put("updateStatusByIdIn", () -> gameRepository.updateStatusByIdIn(
+                List.of(game.getId()), GameStatus.SOLD, GameStatus.SOLD.allowedPredecessors()));
+        queries.put("softDeleteById", () -> gameRepository.softDeleteById(game.getId()));
+        queries.put("softDeleteByUserIdAndIdIn", () -> gameRepository.softDeleteByUserIdAndIdIn(game.getUserId(), ids));
+        queries.put("findDeletedIds", () -> gameRepository.findDeletedIds(Limit.of(100)));
+        queries.put("deleteImagesByGameIdIn", () -> gameRepository.deleteImagesByGameIdIn(ids));
+        queries.put("deleteDeletedByIdIn", () -> gameRepository.deleteDeletedByIdIn(ids));
+        queries.put("reservePositions", () -> transactionTemplate.executeWithoutResult(status ->
+                gameEventRepository.reservePositions(ids.size())));
+        queries.put("insertEvents", () -> transactionTemplate.executeWithoutResult(status ->
+                gameEventRepository.insertEvents(ids, ids.size(), GameEventType.UPDATED.name(),
+                        GameStatus.PUBLISHED.name(), LocalDateTime.now())));
+        queries.put("findAfter", () -> gameEventRepository.findAfter(0L, Limit.of(100)));
+        queries.put("findMaxId", () -> gameEventRepository.findMaxId());
+        queries.put("findIdsCreatedBefore", () -> gameEventRepository.findIdsCreatedBefore(LocalDateTime.now(), Limit.of(100)));
+        queries.put("deleteByIdIn", () -> gameEventRepository.deleteByIdIn(ids));
+        return queries;
+    }
+
+    private void assertNoFullScan(Runnable repositoryCall) {
+        QueryCounter.reset();
+        repositoryCall.run();
+        List<String> statements = QueryCounter.statements();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql).toLowerCase(Locale.ROOT);
+            if (plan.contains(DIRECT_LOOKUP)) {
+                // min/max over an indexed column reads one index entry, whatever scan the plan names
+                continue;
+            }
+            assertThat(plan)
+                    .as("Full table scan in plan for: %s%n%s", sql, plan)
+                    .doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    statement.setObject(i, null);
+                }
+                List<String> lines = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        lines.add(resultSet.getString(1));
+                    }
+                }
+                return String.join(System.lineSeparator(), lines);
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.bgauction.gameservice.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobLockTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:job_lock;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private JobLock first;
+    private JobLock second;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        first = new JobLock(jdbcTemplate);
+        second = new JobLock(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Only one instance holds the lease of a job")
+    void oneHolder() {
+        assertThat(first.tryAcquire("purge", LEASE)).isTrue();
+        assertThat(second.tryAcquire("purge", LEASE)).isFalse();
+        assertThat(second.tryAcquire("other", LEASE)).isTrue();
+
+        first.release("purge");
+        assertThat(second.tryAcquire("purge", LEASE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("An expired lease can be taken over")
+    void expiredLease() {
+        assertThat(first.tryAcquire("purge", Duration.ZERO)).isTrue();
+        assertThat(second.tryAcquire("purge", LEASE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("A job runs only while no other instance runs it")
+    void runExclusively() {
+        AtomicBoolean nestedRan = new AtomicBoolean();
+
+        assertThat(first.runExclusively("purge", LEASE,
+                () -> second.runExclusively("purge", LEASE, () -> nestedRan.set(true)))).isTrue();
+
+        assertThat(nestedRan).isFalse();
+        assertThat(second.runExclusively("purge", LEASE, () -> nestedRan.set(true))).isTrue();
+        assertThat(nestedRan).isTrue();
+    }
+}
@@ -0,0 +1,109 @@
+package com.bgauction.gameservice.search;
+
+import com.bgauction.gameservice.model.entity.GameLanguage;
+import com.bgauction.gameservice.model.entity.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameFacetIndexTest {
+
+    private static final Set<GameStatus> BROWSABLE = Set.of(GameStatus.PUBLISHED, GameStatus.IN_AUCTION);
+
+    private GameFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameFacetIndex();
+        index.index(1L, GameLanguage.EN, GameStatus.PUBLISHED, 2, 4);
+        index.index(2L, GameLanguage.LV, GameStatus.PUBLISHED, 1, 2);
+        index.index(3L, GameLanguage.EN, GameStatus.IN_AUCTION, 3, 6);
+        index.index(4L, GameLanguage.EN, GameStatus.SOLD, 2, 4);
+    }
+
+    @Test
+    @DisplayName("Browse intersects filters and returns newest games first")
+    void browseIntersectsFilters() {
+        GameFacetIndex.Result result = index.browse(Set.of(GameLanguage.EN), 3, BROWSABLE, BROWSABLE, null, 10);
+        assertThat(result.ids()).containsExactly(3L, 1L);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.nextBeforeId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Facet counts ignore their own filter")
+    void facetCountsAreDisjunctive() {
+        GameFacetIndex.Result result = index.browse(
+                Set.of(GameLanguage.LV), null, Set.of(GameStatus.PUBLISHED), BROWSABLE, null, 10);
+        assertThat(result.ids()).containsExactly(2L);
+        assertThat(result.languageCounts()).containsEntry(GameLanguage.EN, 1).containsEntry(GameLanguage.LV, 1);
+        assertThat(result.statusCounts()).containsEntry(GameStatus.PUBLISHED, 1).containsEntry(GameStatus.IN_AUCTION, 0);
+    }
+
+    @Test
+    @DisplayName("Cursor continues after the last returned game")
+    void cursorPaging() {
+        GameFacetIndex.Result first = index.browse(Set.of(), null, BROWSABLE, BROWSABLE, null, 2);
+        assertThat(first.ids()).containsExactly(3L, 2L);
+        assertThat(first.nextBeforeId()).isEqualTo(2L);
+
+        GameFacetIndex.Result second = index.browse(Set.of(), null, BROWSABLE, BROWSABLE, first.nextBeforeId(), 2);
+        assertThat(second.ids()).containsExactly(1L);
+        assertThat(second.nextBeforeId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Status updates, removals and out-of-order inserts are reflected")
+    void updatesAreReflected() {
+        index.updateStatus(3L, GameStatus.SOLD);
+        index.remove(2L);
+        index.index(0L, GameLanguage.RU, GameStatus.PUBLISHED, 2, 30);
+
+        GameFacetIndex.Result result = index.browse(Set.of(), null, BROWSABLE, BROWSABLE, null, 10);
+        assertThat(result.ids()).containsExactly(1L, 0L);
+        assertThat(index.browse(Set.of(), 25, BROWSABLE, BROWSABLE, null, 10).ids()).containsExactly(0L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Ids from an older id block are inserted in order and reuse removed positions")
+    void outOfOrderInserts() {
+        index.index(100L, GameLanguage.EN, GameStatus.PUBLISHED, 2, 4);
+        index.index(51L, GameLanguage.EN, GameStatus.PUBLISHED, 2, 4);
+        index.index(52L, GameLanguage.EN, GameStatus.IN_AUCTION, 2, 4);
+        index.remove(2L);
+        index.index(2L, GameLanguage.LV, GameStatus.PUBLISHED, 1, 2);
+
+        GameFacetIndex.Result first = index.browse(Set.of(), null, BROWSABLE, BROWSABLE, null, 3);
+        assertThat(first.ids()).containsExactly(100L, 52L, 51L);
+        GameFacetIndex.Result second = index.browse(Set.of(), null, BROWSABLE, BROWSABLE, first.nextBeforeId(), 3);
+        assertThat(second.ids()).containsExactly(3L, 2L, 1L);
+        assertThat(index.browse(Set.of(), null, Set.of(GameStatus.IN_AUCTION), BROWSABLE, null, 10).ids())
+                .containsExactly(52L, 3L);
+        assertThat(index.slots()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Compaction drops removed positions and keeps the order")
+    void compaction() {
+        for (long id = 5; id <= 8; id++) {
+            index.index(id, GameLanguage.EN, GameStatus.SOLD, 2, 4);
+        }
+        index.remove(1L);
+        index.compact();
+        assertThat(index.slots()).isEqualTo(8);
+
+        index.remove(3L);
+        index.compact();
+        assertThat(index.slots()).isEqualTo(6);
+        index.index(3L, GameLanguage.EN, GameStatus.PUBLISHED, 3, 6);
+
+        assertThat(index.browse(Set.of(), null, BROWSABLE, BROWSABLE, null, 10).ids()).containsExactly(3L, 2L);
+        assertThat(index.browse(Set.of(GameLanguage.EN), 5, BROWSABLE, BROWSABLE, null, 10).ids()).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bgauction.gameservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameSearchIndexTest {
+
+    private GameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GameSearchIndex();
+        index.index(1L, "Catan", "A strategy game for resource management and trading.");
+        index.index(2L, "Ticket to Ride", "A railway adventure game");
+        index.index(3L, "Pandemic", "A cooperative board game to stop a global outbreak");
+        index.index(4L, "Railway Rivals", "Build a railway network, a strategy game");
+    }
+
+    @Test
+    @DisplayName("Search matches all terms, case-insensitively")
+    void searchMatchesAllTerms() {
+        assertThat(index.search("STRATEGY game", 10)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.search("strategy outbreak", 10)).isEmpty();
+        assertThat(index.search("unknown", 10)).isEmpty();
+        assertThat(index.search("  ,. ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Title matches rank first and limit is applied")
+    void titleMatchesRankFirst() {
+        assertThat(index.search("railway", 10)).containsExactly(4L, 2L);
+        assertThat(index.search("game", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Reindexing replaces old terms and remove drops the game")
+    void reindexAndRemove() {
+        index.index(3L, "Pandemic Legacy", "Season one");
+        assertThat(index.search("outbreak", 10)).isEmpty();
+        assertThat(index.search("legacy", 10)).containsExactly(3L);
+
+        index.remove(3L);
+        assertThat(index.search("pandemic", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Autocomplete completes the last word of the title")
+    void autocomplete() {
+        assertThat(index.autocomplete("rail", 10)).containsExactly("Railway Rivals");
+        assertThat(index.autocomplete("ticket to r", 10)).containsExactly("Ticket to Ride");
+        assertThat(index.autocomplete("pan", 10)).containsExactly("Pandemic");
+        assertThat(index.autocomplete("zzz", 10)).isEmpty();
+    }
+}
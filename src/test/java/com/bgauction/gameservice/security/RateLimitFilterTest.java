@@ -0,0 +1,129 @@
+package com.bgauction.gameservice.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicInteger passed = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+    @Test
+    @DisplayName("Bucket admits the burst, then one request per refill interval")
+    void tokenBucketRefills() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, start);
+
+        assertThat(bucket.tryAcquire(start)).isZero();
+        assertThat(bucket.tryAcquire(start)).isZero();
+        assertThat(bucket.tryAcquire(start)).isZero();
+        assertThat(bucket.tryAcquire(start)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        long later = start + TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Requests over the limit get 429 without reaching the chain")
+    void rejectsOverLimit() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 2, 1, 100, 100, 1000, 60);
+
+        assertThat(perform(filter, "PUT", "/game/1", "7").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "PUT", "/game/2", "7").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, "PUT", "/game/3", "7");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(passed.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Users and routes have separate buckets")
+    void separateBuckets() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 1, 1, 100, 100, 1000, 60);
+
+        assertThat(perform(filter, "GET", "/game/user/7", "7").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/game/user/7", "8").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "PUT", "/game/1", "7").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/game/user/8", "7").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Public requests without a user are not limited")
+    void unlimitedWithoutUser() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 1, 1, 100, 100, 1000, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform(filter, "GET", "/game/" + i, null).getStatus()).isEqualTo(200);
+        }
+        assertThat(passed.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Each route group enforces its own limit")
+    void routeGroupLimits() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 1, 1, 3, 1, 1000, 60);
+
+        assertThat(perform(filter, "PUT", "/game/1", "7").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "PUT", "/game/2", "7").getStatus()).isEqualTo(429);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform(filter, "PUT", "/internal/game/" + i + "/sold", "7").getStatus()).isEqualTo(200);
+        }
+        assertThat(perform(filter, "PUT", "/internal/game/3/sold", "7").getStatus()).isEqualTo(429);
+        assertThat(passed.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Internal calls without a user share one bucket per route")
+    void internalWithoutUser() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(true, 100, 100, 2, 1, 1000, 60);
+
+        assertThat(perform(filter, "GET", "/internal/game/1", null).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/internal/game/2", null).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/internal/game/3", null).getStatus()).isEqualTo(429);
+        assertThat(perform(filter, "PUT", "/internal/game/1/sold", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Disabled filter lets everything through")
+    void disabled() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(false, 1, 1, 1, 1, 1000, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform(filter, "GET", "/game/1", "7").getStatus()).isEqualTo(200);
+        }
+        assertThat(passed.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Numeric path segments collapse into one route")
+    void route() {
+        assertThat(RateLimitFilter.route("/game/12")).isEqualTo("/game/{id}");
+        assertThat(RateLimitFilter.route("/game/user/12")).isEqualTo("/game/user/{id}");
+        assertThat(RateLimitFilter.route("/internal/game/12/sold")).isEqualTo("/internal/game/{id}/sold");
+        assertThat(RateLimitFilter.route("/game/search")).isEqualTo("/game/search");
+        assertThat(RateLimitFilter.group("/internal/game/12")).isEqualTo(RateLimitFilter.RouteGroup.INTERNAL);
+        assertThat(RateLimitFilter.group("/game/12")).isEqualTo(RateLimitFilter.RouteGroup.PUBLIC);
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String uri, String userId)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (userId != null) {
+            request.addHeader("X-User-Id", userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,78 @@
+package com.bgauction.gameservice.service.impl;
+
+import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameImage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameImageDiffTest {
+
+    @Test
+    @DisplayName("Unchanged images produce an empty diff and keep the stored instances")
+    void unchangedImages() {
+        Game game = gameWith(images(1, 40, true));
+        List<GameImage> stored = List.copyOf(game.getImages());
+
+        GameImageDiff.Result result = GameImageDiff.apply(game, images(1, 40, false));
+
+        assertThat(result.isEmpty()).isTrue();
+        assertThat(game.getImages()).usingElementComparator((a, b) -> a == b ? 0 : 1).containsExactlyElementsOf(stored);
+    }
+
+    @Test
+    @DisplayName("Only removed URLs are deleted and only new URLs are inserted")
+    void minimalInsertsAndDeletes() {
+        Game game = gameWith(images(1, 30, true));
+
+        GameImageDiff.Result result = GameImageDiff.apply(game, images(21, 20, false));
+
+        assertThat(result.deleted()).extracting(GameImage::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).mapToObj(Long::valueOf).toList());
+        assertThat(result.inserted()).extracting(GameImage::getUrl)
+                .containsExactlyElementsOf(IntStream.rangeClosed(31, 40).mapToObj(GameImageDiffTest::url).toList());
+        assertThat(result.inserted()).allMatch(image -> image.getId() == null && image.getGame() == game);
+        assertThat(game.getImages()).hasSize(20);
+        assertThat(game.getImages().subList(0, 10)).containsExactlyElementsOf(result.inserted());
+    }
+
+    @Test
+    @DisplayName("Duplicate submitted and stored URLs are collapsed")
+    void duplicateUrls() {
+        Game game = gameWith(new ArrayList<>(List.of(
+                new GameImage(1L, url(1), null),
+                new GameImage(2L, url(1), null))));
+
+        GameImageDiff.Result result = GameImageDiff.apply(game, List.of(
+                new GameImage(null, url(1), null),
+                new GameImage(null, url(2), null),
+                new GameImage(null, url(2), null)));
+
+        assertThat(result.deleted()).extracting(GameImage::getId).containsExactly(2L);
+        assertThat(result.inserted()).extracting(GameImage::getUrl).containsExactly(url(2));
+        assertThat(game.getImages()).extracting(GameImage::getUrl).containsExactly(url(2), url(1));
+    }
+
+    private static Game gameWith(List<GameImage> images) {
+        Game game = new Game();
+        game.setImages(images);
+        return game;
+    }
+
+    private static List<GameImage> images(int first, int count, boolean withIds) {
+        List<GameImage> images = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            images.add(new GameImage(withIds ? (long) i : null, url(i), null));
+        }
+        return images;
+    }
+
+    private static String url(int index) {
+        return "https://boardgamegeek.com/image/" + index;
+    }
+}
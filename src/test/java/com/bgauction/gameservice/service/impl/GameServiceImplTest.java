@@ -1,11 +1,33 @@
 package com.bgauction.gameservice.service.impl;
 
+import com.bgauction.gameservice.cache.GameCache;
 import com.bgauction.gameservice.exception.BadRequestException;
+import com.bgauction.gameservice.exception.ConflictException;
 import com.bgauction.gameservice.exception.NotFoundException;
+import com.bgauction.gameservice.exception.PreconditionFailedException;
+import com.bgauction.gameservice.model.dto.GameBrowsePage;
+import com.bgauction.gameservice.model.dto.GameCursor;
+import com.bgauction.gameservice.model.dto.GameDto;
+import com.bgauction.gameservice.model.dto.GameImageDto;
+import com.bgauction.gameservice.model.dto.GameJson;
+import com.bgauction.gameservice.model.dto.GamePage;
+import com.bgauction.gameservice.model.dto.GameStatusChangeResult;
 import com.bgauction.gameservice.model.entity.Game;
+import com.bgauction.gameservice.model.entity.GameEventType;
 import com.bgauction.gameservice.model.entity.GameImage;
+import com.bgauction.gameservice.model.entity.GameLanguage;
 import com.bgauction.gameservice.model.entity.GameStatus;
+import com.bgauction.gameservice.model.mapper.GameJsonEncoder;
+import com.bgauction.gameservice.model.mapper.GameMapperImpl;
+import com.bgauction.gameservice.model.projection.GameDetailRow;
+import com.bgauction.gameservice.model.projection.GameImageRow;
+import com.bgauction.gameservice.model.projection.GameRow;
+import com.bgauction.gameservice.model.projection.GameStatusView;
 import com.bgauction.gameservice.repository.GameRepository;
+import com.bgauction.gameservice.search.GameFacetIndex;
+import com.bgauction.gameservice.search.GameSearchIndex;
+import com.bgauction.gameservice.service.GameEventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +35,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static com.bgauction.gameservice.util.TestUtil.generateExistingImageListForExistingGame;
 import static com.bgauction.gameservice.util.TestUtil.generateGame;
@@ -28,6 +60,7 @@ import static com.bgauction.gameservice.util.TestUtil.generateNewImageListForNew
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,6 +70,25 @@ class GameServiceImplTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Spy
+    private GameCache gameCache = new GameCache(100, 60, 2000, 100, 60);
+
+    @Spy
+    private GameSearchIndex gameSearchIndex = new GameSearchIndex();
+
+    @Spy
+    private GameFacetIndex gameFacetIndex = new GameFacetIndex();
+
+    @Mock
+    private GameEventService gameEventService;
+
+    @Spy
+    private GameJsonEncoder gameJsonEncoder =
+            new GameJsonEncoder(new GameMapperImpl(), new ObjectMapper().findAndRegisterModules(), true);
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private GameServiceImpl gameService;
 
@@ -58,29 +110,148 @@ class GameServiceImplTest {
     @Test
     @DisplayName("Find game by id when exists")
     void findGameByIdReturnsGameWhenGameExists() {
-        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
+        when(gameRepository.findDetailRowsById(gameId1)).thenAnswer(invocation -> detailRows(existingGame));
         Game foundGame = gameService.findGameById(gameId1);
         assertThat(existingGame).isEqualTo(foundGame);
-        verify(gameRepository, times(1)).findById(gameId1);
+        assertThat(foundGame.getImages()).containsExactlyElementsOf(existingGame.getImages());
+        assertThat(foundGame.getImages()).allMatch(image -> image.getGame() == foundGame);
+        verify(gameRepository, times(1)).findDetailRowsById(gameId1);
     }
 
     @Test
     @DisplayName("Find game by id when doesn't exist")
     void findGameByIdReturnsGameWhenGameDoesNotExist() {
-        when(gameRepository.findById(gameId1)).thenReturn(Optional.empty());
+        when(gameRepository.findDetailRowsById(gameId1)).thenReturn(List.of());
         assertThatThrownBy(() -> gameService.findGameById(gameId1))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Game with id: 1 is not found")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Repeated lookups of a missing game query once until the id is saved")
+    void findGameByIdRemembersMissingGame() {
+        when(gameRepository.findDetailRowsById(gameId1)).thenReturn(List.of());
+        assertThatThrownBy(() -> gameService.findGameById(gameId1)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> gameService.findGameJsonById(gameId1)).isInstanceOf(NotFoundException.class);
+        verify(gameRepository, times(1)).findDetailRowsById(gameId1);
+
+        gameCache.invalidate(gameId1);
+        when(gameRepository.findDetailRowsById(gameId1)).thenAnswer(invocation -> detailRows(existingGame));
+        assertThat(gameService.findGameById(gameId1).getId()).isEqualTo(gameId1);
+        verify(gameRepository, times(2)).findDetailRowsById(gameId1);
+    }
+
+    @Test
+    @DisplayName("Find game by id is served from cache on repeated reads")
+    void findGameByIdIsCached() {
+        when(gameRepository.findDetailRowsById(gameId1)).thenAnswer(invocation -> detailRows(existingGame));
+        Game first = gameService.findGameById(gameId1);
+        Game second = gameService.findGameById(gameId1);
+        assertThat(first).isEqualTo(existingGame).isNotSameAs(second);
+        assertThat(second).isEqualTo(existingGame);
+        verify(gameRepository, times(1)).findDetailRowsById(gameId1);
+        assertThat(gameService.getGameCacheStats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Game JSON is encoded once and re-encoded after a status change")
+    void gameJsonIsCachedUntilStatusChange() throws Exception {
+        when(gameRepository.findDetailRowsById(gameId1)).thenAnswer(invocation -> detailRows(existingGame));
+        when(gameRepository.updateStatusById(gameId1, GameStatus.IN_AUCTION, GameStatus.IN_AUCTION.allowedPredecessors()))
+                .thenAnswer(invocation -> {
+                    existingGame.setStatus(GameStatus.IN_AUCTION);
+                    return 1;
+                });
+
+        GameJson first = gameService.findGameJsonById(gameId1);
+        assertThat(gameService.findGameJsonById(gameId1)).isSameAs(first);
+        verify(gameJsonEncoder, times(1)).encode(any(Game.class));
+
+        gameService.setStatusToInAuctionForGameWithId(gameId1);
+        GameJson second = gameService.findGameJsonById(gameId1);
+        verify(gameJsonEncoder, times(2)).encode(any(Game.class));
+        assertThat(new ObjectMapper().readTree(second.json()).get("status").asText())
+                .isEqualTo(GameStatus.IN_AUCTION.name());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(second.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(second.json());
+        }
+    }
+
+    @Test
+    @DisplayName("Game JSON for missing game")
+    void gameJsonForMissingGame() {
+        when(gameRepository.findDetailRowsById(gameId1)).thenReturn(List.of());
+        assertThatThrownBy(() -> gameService.findGameJsonById(gameId1))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Game with id: 1 is not found");
     }
 
     @Test
-    @DisplayName("Find game list by user id")
+    @DisplayName("Cached game is invalidated on status change")
+    void cachedGameIsInvalidatedOnStatusChange() {
+        when(gameRepository.findDetailRowsById(gameId1)).thenAnswer(invocation -> detailRows(existingGame));
+        when(gameRepository.updateStatusById(gameId1, GameStatus.IN_AUCTION, GameStatus.IN_AUCTION.allowedPredecessors()))
+                .thenAnswer(invocation -> {
+                    existingGame.setStatus(GameStatus.IN_AUCTION);
+                    return 1;
+                });
+        gameService.findGameById(gameId1);
+        gameService.setStatusToInAuctionForGameWithId(gameId1);
+        assertThat(gameService.findGameById(gameId1).getStatus()).isEqualTo(GameStatus.IN_AUCTION);
+        verify(gameRepository, times(2)).findDetailRowsById(gameId1);
+    }
+
+    @Test
+    @DisplayName("Find game list by user id returns every game without a limit")
     void findGameListByUserId() {
-        List<Game> expectedList = new ArrayList<>(Arrays.asList(existingGame));
-        when(gameRepository.findAllByUserId(userId)).thenReturn(expectedList);
-        List<Game> resultList =  gameService.findGameListByUserId(userId);
-        assertThat(resultList).hasSize(1).containsExactlyInAnyOrderElementsOf(expectedList);
-        verify(gameRepository, times(1)).findAllByUserId(userId);
+        when(gameRepository.findFirstPageByUserId(userId, Limit.unlimited()))
+                .thenReturn(new ArrayList<>(List.of(row(existingGame))));
+        when(gameRepository.findImageRowsByGameIdIn(List.of(gameId1))).thenReturn(imageRows(existingGame));
+
+        assertThat(gameService.findGameListByUserId(userId)).extracting(GameDto::getId).containsExactly(gameId1);
+    }
+
+    @Test
+    @DisplayName("Find game page by user id returns next cursor when more games exist")
+    void findGamePageByUserIdWithNextPage() {
+        LocalDateTime now = LocalDateTime.now();
+        Game second = generateGame(2L, userId, GameStatus.PUBLISHED, new ArrayList<>());
+        existingGame.setCreated(now);
+        second.setCreated(now.minusMinutes(1));
+        when(gameRepository.findFirstPageByUserId(userId, Limit.of(2)))
+                .thenReturn(new ArrayList<>(List.of(row(existingGame), row(second))));
+        when(gameRepository.findImageRowsByGameIdIn(List.of(gameId1))).thenReturn(imageRows(existingGame));
+
+        GamePage page = gameService.findGamePageByUserId(userId, null, 1);
+
+        assertThat(page.games()).extracting(GameDto::getId).containsExactly(gameId1);
+        assertThat(page.games().get(0).getImages()).extracting(GameImageDto::getUrl)
+                .containsExactlyElementsOf(existingGame.getImages().stream().map(GameImage::getUrl).toList());
+        assertThat(GameCursor.decode(page.nextCursor())).isEqualTo(new GameCursor(now, gameId1));
+    }
+
+    @Test
+    @DisplayName("Find game page by user id continues after cursor")
+    void findGamePageByUserIdAfterCursor() {
+        LocalDateTime created = LocalDateTime.now();
+        String cursor = new GameCursor(created, 5L).encode();
+        when(gameRepository.findPageByUserIdAfter(userId, created, 5L, Limit.of(3)))
+                .thenReturn(new ArrayList<>(List.of(row(existingGame))));
+
+        GamePage page = gameService.findGamePageByUserId(userId, cursor, 2);
+
+        assertThat(page.games()).extracting(GameDto::getId).containsExactly(gameId1);
+        assertThat(page.games().get(0).getImages()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Find game page by user id with malformed cursor")
+    void findGamePageByUserIdWithMalformedCursor() {
+        assertThatThrownBy(() -> gameService.findGamePageByUserId(userId, "not-a-cursor", 2))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid cursor");
     }
 
     @Test
@@ -98,6 +269,90 @@ class GameServiceImplTest {
         assertThat(savedGame.getImages()).hasSize(2);
         assertThat(savedGame.getImages().get(0).getGame()).isEqualTo(savedGame);
         assertThat(savedGame.getImages().get(1).getGame()).isEqualTo(savedGame);
+        verify(gameEventService, times(1)).recordEvent(gameId1, GameEventType.CREATED, existingGame.getStatus());
+    }
+
+    @Test
+    @DisplayName("Saved game becomes searchable")
+    void savedGameIsIndexed() {
+        when(gameRepository.save(any(Game.class))).thenReturn(existingGame);
+        when(gameRepository.findAllWithImagesByIdIn(List.of(gameId1))).thenReturn(List.of(existingGame));
+
+        gameService.saveGame(gameForSaving);
+
+        assertThat(gameService.searchGames(existingGame.getTitle(), 10)).containsExactly(existingGame);
+        assertThat(gameService.autocompleteTitles("tit", 10)).containsExactly(existingGame.getTitle());
+    }
+
+    @Test
+    @DisplayName("Search reads ids the replica doesn't have yet from the primary")
+    void searchFallsBackToPrimary() {
+        when(gameRepository.save(any(Game.class))).thenReturn(existingGame);
+        when(gameRepository.findAllWithImagesByIdIn(List.of(gameId1))).thenReturn(List.of());
+        when(gameRepository.findAllWithImagesOnPrimaryByIdIn(List.of(gameId1))).thenReturn(List.of(existingGame));
+
+        gameService.saveGame(gameForSaving);
+
+        assertThat(gameService.searchGames(existingGame.getTitle(), 10)).containsExactly(existingGame);
+    }
+
+    @Test
+    @DisplayName("Saved game is only indexed once the transaction commits")
+    void savedGameIsIndexedAfterCommit() {
+        when(gameRepository.save(any(Game.class))).thenReturn(existingGame);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            gameService.saveGame(gameForSaving);
+            assertThat(gameService.autocompleteTitles("tit", 10)).isEmpty();
+            assertThat(gameFacetIndex.size()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(gameService.autocompleteTitles("tit", 10)).containsExactly(existingGame.getTitle());
+        assertThat(gameFacetIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Saved game becomes browsable and leaves browse after it is sold")
+    void savedGameIsBrowsable() {
+        when(gameRepository.save(any(Game.class))).thenReturn(existingGame);
+        when(gameRepository.findAllWithImagesByIdIn(List.of(gameId1))).thenReturn(List.of(existingGame));
+        when(gameRepository.updateStatusById(eq(gameId1), eq(GameStatus.SOLD), any())).thenReturn(1);
+
+        gameService.saveGame(gameForSaving);
+
+        GameBrowsePage page = gameService.browseGames(Set.of(GameLanguage.LV), 3, Set.of(), null, 10);
+        assertThat(page.games()).containsExactly(existingGame);
+        assertThat(page.total()).isEqualTo(1);
+        assertThat(page.statusCounts()).containsEntry(GameStatus.PUBLISHED, 1);
+
+        gameService.setStatusToSoldForGameWithId(gameId1);
+        assertThat(gameService.browseGames(Set.of(), null, Set.of(), null, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Browse leaves out a game whose row no longer matches the filter")
+    void browseDropsStaleRows() {
+        Game sold = generateGame(gameId1, userId, GameStatus.SOLD, generateExistingImageListForExistingGame());
+        when(gameRepository.save(any(Game.class))).thenReturn(existingGame);
+        when(gameRepository.findAllWithImagesByIdIn(List.of(gameId1))).thenReturn(List.of(sold));
+
+        gameService.saveGame(gameForSaving);
+
+        GameBrowsePage page = gameService.browseGames(Set.of(), null, Set.of(), null, 10);
+        assertThat(page.games()).isEmpty();
+        assertThat(page.total()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Browse rejects SOLD status filter")
+    void browseRejectsSoldStatus() {
+        assertThatThrownBy(() -> gameService.browseGames(Set.of(), null, Set.of(GameStatus.SOLD), null, 10))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Only PUBLISHED and IN_AUCTION games can be browsed");
     }
 
     @Test
@@ -110,6 +365,18 @@ class GameServiceImplTest {
                 .hasMessageContaining("Game with id: 1 can't be updated because game status is not PUBLISHED");
     }
 
+    @Test
+    @DisplayName("Update existing game when expected version is stale")
+    void updateExistingGameWithStaleVersion() {
+        existingGame.setVersion(3L);
+        gameForUpdate.setVersion(2L);
+        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
+        assertThatThrownBy(() -> gameService.updateGame(gameForUpdate))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("Game with id: 1 has version 3, but version 2 was expected");
+        verify(gameRepository, times(0)).save(any(Game.class));
+    }
+
     @Test
     @DisplayName("Update existing game when status is PUBLISHED")
     void updateExistingGameWithPublishedStatus() {
@@ -129,48 +396,281 @@ class GameServiceImplTest {
     }
 
     @Test
-    @DisplayName("Set game status to IN-AUCTION")
-    void setStatusToInAuctionForGameWithIdTest() {
+    @DisplayName("Update existing game without changes writes nothing")
+    void updateExistingGameWithoutChanges() {
         when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
-        assertThat(existingGame.getStatus()).isEqualTo(GameStatus.PUBLISHED);
+        Game unchanged = generateGame(gameId1, userId, GameStatus.PUBLISHED, generateNewImageListForNewGame());
 
-        gameService.setStatusToInAuctionForGameWithId(gameId1);
+        gameService.updateGame(unchanged);
+
+        verify(gameRepository, times(0)).save(any(Game.class));
+        verify(gameCache, times(0)).invalidate(gameId1);
+        verify(gameEventService, times(0)).recordEvent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Update existing game with unchanged images keeps stored images")
+    void updateExistingGameWithUnchangedImages() {
+        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
+        List<GameImage> storedImages = List.copyOf(existingGame.getImages());
+        gameForUpdate.setImages(generateNewImageListForNewGame());
+        gameForUpdate.setTitle("new title");
+
+        gameService.updateGame(gameForUpdate);
 
-        verify(gameRepository, times(1)).findById(gameId1);
         ArgumentCaptor<Game> gameCaptor = ArgumentCaptor.forClass(Game.class);
         verify(gameRepository, times(1)).save(gameCaptor.capture());
         Game savedGame = gameCaptor.getValue();
-        assertThat(savedGame.getStatus()).isEqualTo(GameStatus.IN_AUCTION);
+        assertThat(savedGame).isSameAs(existingGame);
+        assertThat(savedGame.getTitle()).isEqualTo("new title");
+        assertThat(savedGame.getImages()).extracting(GameImage::getId).containsExactly(1L, 2L);
+        assertThat(savedGame.getImages()).containsExactlyElementsOf(storedImages);
+    }
+
+    @Test
+    @DisplayName("Set game status to IN-AUCTION")
+    void setStatusToInAuctionForGameWithIdTest() {
+        when(gameRepository.updateStatusById(gameId1, GameStatus.IN_AUCTION, GameStatus.IN_AUCTION.allowedPredecessors()))
+                .thenReturn(1);
+
+        gameService.setStatusToInAuctionForGameWithId(gameId1);
+
+        verify(gameRepository, times(0)).findById(any(Long.class));
+        verify(gameRepository, times(0)).save(any(Game.class));
+        verify(gameCache, times(1)).invalidate(gameId1);
+        verify(gameEventService, times(1)).recordEvent(gameId1, GameEventType.STATUS_CHANGED, GameStatus.IN_AUCTION);
     }
 
     @Test
     @DisplayName("Set game status to SOLD")
     void setStatusToSoldForGameWithIdTest() {
-        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
-        assertThat(existingGame.getStatus()).isEqualTo(GameStatus.PUBLISHED);
+        when(gameRepository.updateStatusById(gameId1, GameStatus.SOLD, GameStatus.SOLD.allowedPredecessors()))
+                .thenReturn(1);
 
         gameService.setStatusToSoldForGameWithId(gameId1);
 
-        verify(gameRepository, times(1)).findById(gameId1);
-        ArgumentCaptor<Game> gameCaptor = ArgumentCaptor.forClass(Game.class);
-        verify(gameRepository, times(1)).save(gameCaptor.capture());
-        Game savedGame = gameCaptor.getValue();
-        assertThat(savedGame.getStatus()).isEqualTo(GameStatus.SOLD);
+        verify(gameRepository, times(1))
+                .updateStatusById(gameId1, GameStatus.SOLD, GameStatus.SOLD.allowedPredecessors());
+        verify(gameRepository, times(0)).save(any(Game.class));
     }
 
     @Test
     @DisplayName("Set game status to PUBLISHED")
     void setStatusToPublishedForGameWithIdTest() {
-        existingGame.setStatus(GameStatus.IN_AUCTION);
-        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
-        assertThat(existingGame.getStatus()).isEqualTo(GameStatus.IN_AUCTION);
+        when(gameRepository.updateStatusById(gameId1, GameStatus.PUBLISHED, GameStatus.PUBLISHED.allowedPredecessors()))
+                .thenReturn(1);
 
         gameService.setStatusToPublishedForGameWithId(gameId1);
 
-        verify(gameRepository, times(1)).findById(gameId1);
-        ArgumentCaptor<Game> gameCaptor = ArgumentCaptor.forClass(Game.class);
-        verify(gameRepository, times(1)).save(gameCaptor.capture());
-        Game savedGame = gameCaptor.getValue();
-        assertThat(savedGame.getStatus()).isEqualTo(GameStatus.PUBLISHED);
+        verify(gameRepository, times(1))
+                .updateStatusById(gameId1, GameStatus.PUBLISHED, GameStatus.PUBLISHED.allowedPredecessors());
+        verify(gameRepository, times(0)).save(any(Game.class));
+    }
+
+    @Test
+    @DisplayName("Set game status to PUBLISHED when game is SOLD")
+    void setStatusToPublishedForSoldGame() {
+        when(gameRepository.updateStatusById(gameId1, GameStatus.PUBLISHED, GameStatus.PUBLISHED.allowedPredecessors()))
+                .thenReturn(0);
+        when(gameRepository.findStatusesByIdIn(List.of(gameId1))).thenReturn(List.of(statusView(gameId1, GameStatus.SOLD)));
+
+        assertThatThrownBy(() -> gameService.setStatusToPublishedForGameWithId(gameId1))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Game with id: 1 can't change status from SOLD to PUBLISHED");
+        verify(gameCache, times(0)).invalidate(gameId1);
+        verify(gameEventService, times(0)).recordEvent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Set game status to SOLD when game is already SOLD")
+    void setStatusToSoldForSoldGame() {
+        when(gameRepository.updateStatusById(gameId1, GameStatus.SOLD, GameStatus.SOLD.allowedPredecessors()))
+                .thenReturn(0);
+        when(gameRepository.findStatusesByIdIn(List.of(gameId1))).thenReturn(List.of(statusView(gameId1, GameStatus.SOLD)));
+
+        gameService.setStatusToSoldForGameWithId(gameId1);
+
+        verify(gameCache, times(0)).invalidate(gameId1);
+        verify(gameEventService, times(0)).recordEvent(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Set game status when game doesn't exist")
+    void setStatusForMissingGame() {
+        when(gameRepository.updateStatusById(gameId1, GameStatus.SOLD, GameStatus.SOLD.allowedPredecessors()))
+                .thenReturn(0);
+        when(gameRepository.findStatusesByIdIn(List.of(gameId1))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> gameService.setStatusToSoldForGameWithId(gameId1))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Game with id: 1 is not found");
+    }
+
+    @Test
+    @DisplayName("Delete game with one soft-delete update")
+    void deleteGameById() {
+        when(gameRepository.softDeleteById(gameId1)).thenReturn(1);
+
+        gameService.deleteGameById(gameId1);
+
+        verify(gameRepository, times(1)).softDeleteById(gameId1);
+        verify(gameRepository, times(0)).deleteImagesByGameIdIn(any());
+        verify(gameRepository, times(0)).findById(any(Long.class));
+        verify(gameCache, times(1)).invalidate(gameId1);
+        verify(gameEventService, times(1)).recordEvent(gameId1, GameEventType.DELETED, null);
+    }
+
+    @Test
+    @DisplayName("Delete game when it doesn't exist")
+    void deleteMissingGame() {
+        when(gameRepository.softDeleteById(gameId1)).thenReturn(0);
+
+        assertThatThrownBy(() -> gameService.deleteGameById(gameId1))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Game with id: 1 is not found");
+    }
+
+    @Test
+    @DisplayName("Delete all games of a user with one soft-delete update")
+    void deleteGamesByUserId() {
+        List<Long> ids = List.of(1L, 2L);
+        runTransactionsInline();
+        when(gameRepository.findActiveForUpdateByUserId(eq(userId), any(Limit.class))).thenReturn(List.of(
+                generateGame(1L, userId, GameStatus.PUBLISHED, List.of()),
+                generateGame(2L, userId, GameStatus.SOLD, List.of())));
+        when(gameRepository.softDeleteByUserIdAndIdIn(userId, ids)).thenReturn(2);
+
+        assertThat(gameService.deleteGamesByUserId(userId)).containsExactly(1L, 2L);
+
+        verify(gameRepository, times(1)).findActiveForUpdateByUserId(eq(userId), any(Limit.class));
+        verify(gameRepository, times(1)).softDeleteByUserIdAndIdIn(userId, ids);
+        verify(gameCache, times(1)).invalidate(1L);
+        verify(gameCache, times(1)).invalidate(2L);
+        verify(gameEventService, times(1)).recordEvents(ids, GameEventType.DELETED, null);
+    }
+
+    @Test
+    @DisplayName("Delete games of a user in chunks of 500")
+    void deleteGamesByUserIdInChunks() {
+        List<Game> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstChunk.add(generateGame(id, userId, GameStatus.PUBLISHED, List.of()));
+        }
+        runTransactionsInline();
+        when(gameRepository.findActiveForUpdateByUserId(eq(userId), any(Limit.class)))
+                .thenReturn(firstChunk)
+                .thenReturn(List.of(generateGame(501L, userId, GameStatus.PUBLISHED, List.of())));
+
+        assertThat(gameService.deleteGamesByUserId(userId)).hasSize(501).startsWith(1L).endsWith(501L);
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(gameRepository, times(2)).softDeleteByUserIdAndIdIn(eq(userId), any());
+        verify(gameEventService, times(1)).recordEvents(List.of(501L), GameEventType.DELETED, null);
+    }
+
+    @Test
+    @DisplayName("Delete games of a user without games")
+    void deleteGamesOfUserWithoutGames() {
+        runTransactionsInline();
+        when(gameRepository.findActiveForUpdateByUserId(eq(userId), any(Limit.class))).thenReturn(List.of());
+
+        assertThat(gameService.deleteGamesByUserId(userId)).isEmpty();
+
+        verify(gameRepository, times(0)).softDeleteByUserIdAndIdIn(any(), any());
+        verify(gameEventService, times(0)).recordEvents(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Soft-deleted game can't be updated")
+    void updateDeletedGame() {
+        existingGame.setDeleted(true);
+        when(gameRepository.findById(gameId1)).thenReturn(Optional.of(existingGame));
+
+        assertThatThrownBy(() -> gameService.updateGame(gameForUpdate))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Game with id: 1 is not found");
+        verify(gameRepository, times(0)).save(any(Game.class));
+    }
+
+    @Test
+    @DisplayName("Change statuses of several games with one update")
+    void changeGameStatuses() {
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(gameRepository.findAllForUpdateByIdIn(any())).thenReturn(List.of(
+                generateGame(1L, userId, GameStatus.IN_AUCTION, List.of()),
+                generateGame(2L, userId, GameStatus.SOLD, List.of()),
+                generateGame(4L, userId, GameStatus.PUBLISHED, List.of())));
+        when(gameRepository.updateStatusByIdIn(List.of(1L), GameStatus.PUBLISHED, GameStatus.PUBLISHED.allowedPredecessors()))
+                .thenReturn(1);
+
+        Map<Long, GameStatusChangeResult> results = gameService.changeGameStatuses(ids, GameStatus.PUBLISHED);
+
+        assertThat(results).containsExactly(
+                Map.entry(1L, GameStatusChangeResult.UPDATED),
+                Map.entry(2L, GameStatusChangeResult.ILLEGAL_TRANSITION),
+                Map.entry(3L, GameStatusChangeResult.NOT_FOUND),
+                Map.entry(4L, GameStatusChangeResult.UNCHANGED));
+        verify(gameRepository, times(0)).findById(any(Long.class));
+        verify(gameCache, times(1)).invalidate(1L);
+        verify(gameCache, times(0)).invalidate(4L);
+        verify(gameEventService, times(1)).recordEvents(List.of(1L), GameEventType.STATUS_CHANGED, GameStatus.PUBLISHED);
+    }
+
+    @Test
+    @DisplayName("Change statuses when no game can move skips the update and the events")
+    void changeGameStatusesWithoutChanges() {
+        when(gameRepository.findAllForUpdateByIdIn(any()))
+                .thenReturn(List.of(generateGame(1L, userId, GameStatus.SOLD, List.of())));
+
+        Map<Long, GameStatusChangeResult> results = gameService.changeGameStatuses(List.of(1L), GameStatus.SOLD);
+
+        assertThat(results).containsExactly(Map.entry(1L, GameStatusChangeResult.UNCHANGED));
+        verify(gameRepository, times(0)).updateStatusByIdIn(any(), any(), any());
+        verify(gameEventService, times(0)).recordEvents(any(), any(), any());
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static GameRow row(Game game) {
+        return new GameRow(game.getId(), game.getUserId(), game.getTitle(), game.getDescription(), game.getCondition(),
+                game.getLanguage(), game.getMinPlayers(), game.getMaxPlayers(), game.getStatus(), game.getCreated(),
+                game.getVersion());
+    }
+
+    private static List<GameImageRow> imageRows(Game game) {
+        return game.getImages().stream()
+                .map(image -> new GameImageRow(game.getId(), image.getId(), image.getUrl()))
+                .toList();
+    }
+
+    private static List<GameDetailRow> detailRows(Game game) {
+        if (game.getImages().isEmpty()) {
+            return List.of(detailRow(game, null));
+        }
+        return game.getImages().stream().map(image -> detailRow(game, image)).toList();
+    }
+
+    private static GameDetailRow detailRow(Game game, GameImage image) {
+        return new GameDetailRow(game.getId(), game.getUserId(), game.getTitle(), game.getDescription(),
+                game.getCondition(), game.getLanguage(), game.getMinPlayers(), game.getMaxPlayers(), game.getStatus(),
+                game.getCreated(), game.getVersion(), image == null ? null : image.getId(),
+                image == null ? null : image.getUrl());
+    }
+
+    private static GameStatusView statusView(Long id, GameStatus status) {
+        return new GameStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public GameStatus getStatus() {
+                return status;
+            }
+        };
     }
 }
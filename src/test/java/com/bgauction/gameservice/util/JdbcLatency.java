@@ -0,0 +1,72 @@
+package com.bgauction.gameservice.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Wraps the dataSource bean so every statement execution and every commit waits for a fixed round trip
+ * while holding its pooled connection, as a networked database would. An in-memory H2 answers in
+ * microseconds, which hides how request threads and the connection pool behave under load.
+ */
+public class JdbcLatency implements BeanPostProcessor {
+
+    private final long latencyNanos;
+
+    public JdbcLatency(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return (Connection) delayed(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return (Connection) delayed(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    private Object delayed(Class<?> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") || method.getName().equals("commit")) {
+                roundTrip();
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return delayed(method.getReturnType(), result);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void roundTrip() throws InterruptedException {
+        Thread.sleep(Duration.ofNanos(latencyNanos));
+    }
+}
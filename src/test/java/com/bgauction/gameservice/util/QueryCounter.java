@@ -0,0 +1,76 @@
+package com.bgauction.gameservice.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryCounter implements StatementInspector {
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+    private static final AtomicInteger UPDATES = new AtomicInteger();
+    private static final AtomicInteger DELETES = new AtomicInteger();
+    private static final AtomicInteger TOTAL = new AtomicInteger();
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            SELECTS.incrementAndGet();
+        } else if (statement.startsWith("insert")) {
+            INSERTS.incrementAndGet();
+        } else if (statement.startsWith("update")) {
+            UPDATES.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            DELETES.incrementAndGet();
+        }
+        TOTAL.incrementAndGet();
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        DELETES.set(0);
+        TOTAL.set(0);
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static int selects() {
+        return SELECTS.get();
+    }
+
+    public static int inserts() {
+        return INSERTS.get();
+    }
+
+    public static int updates() {
+        return UPDATES.get();
+    }
+
+    public static int deletes() {
+        return DELETES.get();
+    }
+
+    public static int total() {
+        return TOTAL.get();
+    }
+
+    public static void assertStatementBudget(String endpoint, int budget) {
+        if (TOTAL.get() > budget) {
+            throw new AssertionError(String.format(
+                    "%s issued %d SQL statements (select: %d, insert: %d, update: %d, delete: %d), budget is %d",
+                    endpoint, TOTAL.get(), SELECTS.get(), INSERTS.get(), UPDATES.get(), DELETES.get(), budget));
+        }
+    }
+}